@@ -40,12 +40,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
+import net.josscoder.gameapi.arena.Arena;
+import net.josscoder.gameapi.arena.listener.ArenaListener;
+import net.josscoder.gameapi.arena.manager.ArenaManager;
 import net.josscoder.gameapi.command.base.MyPositionCommand;
 import net.josscoder.gameapi.command.base.SoundCommand;
 import net.josscoder.gameapi.command.base.TeleporterCommand;
@@ -53,25 +58,33 @@ import net.josscoder.gameapi.command.base.VoteCommand;
 import net.josscoder.gameapi.command.base.phase.FreezePhasesCommand;
 import net.josscoder.gameapi.command.base.phase.SkipPhaseCommand;
 import net.josscoder.gameapi.command.base.phase.UnfreezePhasesCommand;
+import net.josscoder.gameapi.cooldown.CooldownService;
 import net.josscoder.gameapi.customitem.CustomItem;
 import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
 import net.josscoder.gameapi.customitem.listener.InteractiveListener;
 import net.josscoder.gameapi.customitem.listener.TransferableListener;
 import net.josscoder.gameapi.map.GameMap;
 import net.josscoder.gameapi.map.WaitingRoomMap;
+import net.josscoder.gameapi.map.backup.MapBackupEngine;
+import net.josscoder.gameapi.map.listener.MapListener;
 import net.josscoder.gameapi.map.manager.GameMapManager;
+import net.josscoder.gameapi.map.manager.MapRegistry;
+import net.josscoder.gameapi.network.PacketRouter;
 import net.josscoder.gameapi.phase.GamePhase;
 import net.josscoder.gameapi.phase.PhaseSeries;
 import net.josscoder.gameapi.phase.base.EndGamePhase;
 import net.josscoder.gameapi.phase.base.LobbyCountdownPhase;
 import net.josscoder.gameapi.phase.base.LobbyWaitingPhase;
 import net.josscoder.gameapi.phase.base.PreGamePhase;
+import net.josscoder.gameapi.scheduler.GameThreadPool;
+import net.josscoder.gameapi.scheduler.MainThreadQueue;
+import net.josscoder.gameapi.scheduler.NamedThreadFactory;
 import net.josscoder.gameapi.team.Team;
 import net.josscoder.gameapi.team.Teamable;
+import net.josscoder.gameapi.user.User;
 import net.josscoder.gameapi.user.factory.UserFactory;
 import net.josscoder.gameapi.user.listener.UserEventListener;
 import net.josscoder.gameapi.util.Utils;
-import net.josscoder.gameapi.util.ZipUtils;
 import net.josscoder.gameapi.util.entity.CustomItemFirework;
 import org.citizen.CitizenLibrary;
 
@@ -90,7 +103,6 @@ public abstract class Game extends PluginBase {
   @Setter
   protected boolean started = false;
 
-  @Setter
   protected boolean mapVoteFinished = false;
 
   @Setter
@@ -105,6 +117,12 @@ public abstract class Game extends PluginBase {
   @Setter
   protected boolean canVoteMap = true;
 
+  @Setter
+  protected boolean snapshotMode = false;
+
+  @Setter
+  protected boolean multiArena = false;
+
   protected List<String> tips;
 
   protected PhaseSeries phaseSeries = null;
@@ -115,6 +133,8 @@ public abstract class Game extends PluginBase {
 
   protected GameMapManager gameMapManager;
 
+  protected ArenaManager arenaManager;
+
   private CitizenLibrary citizenLibrary;
 
   @Setter
@@ -130,7 +150,21 @@ public abstract class Game extends PluginBase {
 
   private Thread mainThread;
 
-  private ExecutorService threadPool;
+  private GameThreadPool threadPool;
+
+  private MapBackupEngine mapBackupEngine;
+
+  private MainThreadQueue mainThreadQueue;
+
+  private Executor mainThreadExecutor;
+
+  private ScheduledExecutorService timeoutScheduler;
+
+  private CooldownService cooldownService;
+
+  private PacketRouter packetRouter;
+
+  private MapRegistry mapRegistry;
 
   private String unexpectedMessage;
 
@@ -149,15 +183,66 @@ public abstract class Game extends PluginBase {
   public void onEnable() {
     Config config = getConfig();
 
+    boolean changed = false;
+
     if (!config.exists("thread_pool_size")) {
       config.set("thread_pool_size", 20);
+      changed = true;
+    }
+
+    if (!config.exists("thread_pool_queue_size")) {
+      config.set("thread_pool_queue_size", 1024);
+      changed = true;
+    }
+
+    if (!config.exists("thread_pool_rejection_policy")) {
+      config.set("thread_pool_rejection_policy", "abort");
+      changed = true;
+    }
+
+    if (!config.exists("thread_pool_shutdown_timeout")) {
+      config.set("thread_pool_shutdown_timeout", 10);
+      changed = true;
+    }
+
+    if (!config.exists("main_thread_budget_ms")) {
+      config.set("main_thread_budget_ms", 5);
+      changed = true;
+    }
+
+    if (changed) {
       config.save();
     }
 
     mainThread = Thread.currentThread();
 
     threadPool =
-      Executors.newFixedThreadPool(config.getInt("thread_pool_size"));
+      new GameThreadPool(
+        "GameAPI-Worker",
+        config.getInt("thread_pool_size"),
+        config.getInt("thread_pool_queue_size"),
+        GameThreadPool.RejectionPolicy.fromString(
+          config.getString("thread_pool_rejection_policy")
+        )
+      );
+
+    mapBackupEngine = new MapBackupEngine();
+
+    mainThreadQueue =
+      new MainThreadQueue(
+        this,
+        TimeUnit.MILLISECONDS.toNanos(config.getInt("main_thread_budget_ms"))
+      );
+    getServer().getScheduler().scheduleRepeatingTask(this, mainThreadQueue, 1);
+
+    mainThreadExecutor = this::scheduleOnMainThread;
+
+    timeoutScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+        new NamedThreadFactory("GameAPI-Timeout")
+      );
+
+    cooldownService = new CooldownService(getServer());
 
     tips = new ArrayList<>();
 
@@ -169,12 +254,22 @@ public abstract class Game extends PluginBase {
 
     userFactory = new UserFactory(this);
 
+    mapRegistry = new MapRegistry();
+
     gameMapManager = new GameMapManager(this);
 
+    arenaManager =
+      new ArenaManager(this, new Arena(this, "default", teams, gameMapManager));
+
     citizenLibrary = new CitizenLibrary(this);
 
+    packetRouter = new PacketRouter();
+
     registerListener(
+      packetRouter,
       new UserEventListener(this),
+      new ArenaListener(this),
+      new MapListener(this),
       new InteractiveListener(this),
       new TransferableListener(this)
     );
@@ -311,9 +406,21 @@ public abstract class Game extends PluginBase {
   }
 
   public boolean isFull() {
+    if (multiArena) {
+      return arenaManager.isFull();
+    }
+
     return getServer().getOnlinePlayers().size() >= maxPlayers;
   }
 
+  public Arena getDefaultArena() {
+    return arenaManager.getDefaultArena();
+  }
+
+  public Arena getArena(Player player) {
+    return arenaManager.getArena(player);
+  }
+
   public boolean isAvailable() {
     return !isFull() && !started;
   }
@@ -351,11 +458,27 @@ public abstract class Game extends PluginBase {
     Duration lobbyCountdownDuration,
     int preGameCountdown,
     int mapTime
+  ) {
+    return createPreGamePhase(
+      getDefaultArena(),
+      lobbyCountdownDuration,
+      preGameCountdown,
+      mapTime
+    );
+  }
+
+  protected List<GamePhase<Game>> createPreGamePhase(
+    Arena arena,
+    Duration lobbyCountdownDuration,
+    int preGameCountdown,
+    int mapTime
   ) {
     List<GamePhase<Game>> gamePhases = new LinkedList<>();
-    gamePhases.add(new LobbyWaitingPhase(this));
-    gamePhases.add(new LobbyCountdownPhase(this, lobbyCountdownDuration));
-    gamePhases.add(new PreGamePhase(this, preGameCountdown, mapTime));
+    gamePhases.add(new LobbyWaitingPhase(this, arena));
+    gamePhases.add(
+      new LobbyCountdownPhase(this, arena, lobbyCountdownDuration)
+    );
+    gamePhases.add(new PreGamePhase(this, arena, preGameCountdown, mapTime));
 
     return gamePhases;
   }
@@ -422,7 +545,7 @@ public abstract class Game extends PluginBase {
     if (isMainThread()) {
       runnable.run();
     } else {
-      schedule(i -> runnable.run());
+      mainThreadQueue.offer(runnable);
     }
   }
 
@@ -453,6 +576,66 @@ public abstract class Game extends PluginBase {
     }
   }
 
+  public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+    return CompletableFuture.supplyAsync(supplier, threadPool);
+  }
+
+  public CompletableFuture<Void> runAsync(Runnable runnable) {
+    return CompletableFuture.runAsync(runnable, threadPool);
+  }
+
+  public <U> CompletableFuture<U> supplyOnMain(Supplier<U> supplier) {
+    return CompletableFuture.supplyAsync(supplier, mainThreadExecutor);
+  }
+
+  public CompletableFuture<Void> runOnMain(Runnable runnable) {
+    return CompletableFuture.runAsync(runnable, mainThreadExecutor);
+  }
+
+  public <U> CompletableFuture<Void> thenOnMain(
+    CompletableFuture<U> future,
+    Consumer<? super U> consumer
+  ) {
+    return future.thenAcceptAsync(consumer, mainThreadExecutor);
+  }
+
+  public <U, R> CompletableFuture<R> thenApplyOnMain(
+    CompletableFuture<U> future,
+    Function<? super U, ? extends R> function
+  ) {
+    return future.thenApplyAsync(function, mainThreadExecutor);
+  }
+
+  public CompletableFuture<Void> delay(int ticks) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+
+    schedule(() -> future.complete(null), ticks);
+
+    return future;
+  }
+
+  public <U> CompletableFuture<U> withTimeout(
+    CompletableFuture<U> future,
+    Duration timeout
+  ) {
+    if (future.isDone()) {
+      return future;
+    }
+
+    ScheduledFuture<?> timeoutTask = timeoutScheduler.schedule(
+      () ->
+        future.completeExceptionally(
+          new TimeoutException("Timed out after " + timeout.toMillis() + "ms")
+        ),
+      timeout.toMillis(),
+      TimeUnit.MILLISECONDS
+    );
+
+    future.whenComplete((result, throwable) -> timeoutTask.cancel(false));
+
+    return future;
+  }
+
   public void sleep(long milliseconds) {
     try {
       Thread.sleep(milliseconds);
@@ -466,8 +649,20 @@ public abstract class Game extends PluginBase {
   }
 
   public void reset(String mapName, boolean shutdown) {
-    if (!mapName.isEmpty() && mapHasBackup(mapName)) {
-      resetMapBackup(mapName);
+    reset(getDefaultArena(), mapName, shutdown);
+  }
+
+  public void reset(Arena arena, String mapName, boolean shutdown) {
+    if (!mapName.isEmpty()) {
+      GameMap map = arena.getGameMapManager().getMap(mapName);
+
+      if (map != null && map.canRollback()) {
+        scheduleOnMainThread(map::rollback);
+      } else if (map != null && map.canResetLive()) {
+        scheduleOnMainThread(map::restorePristineChunks);
+      } else if (mapHasBackup(mapName)) {
+        resetMapBackup(mapName);
+      }
     }
 
     if (shutdown) {
@@ -483,9 +678,26 @@ public abstract class Game extends PluginBase {
     return getServer().getDataPath() + "/backups/";
   }
 
+  public String getTemplatesFolder() {
+    return getServer().getDataPath() + "/templates/";
+  }
+
   public void storeMapBackup(String mapName) {
     unloadMap(mapName);
 
+    if (snapshotMode) {
+      try {
+        mapBackupEngine.storeSnapshot(
+          new File(getWorldsFolder() + mapName),
+          new File(getTemplatesFolder() + mapName)
+        );
+      } catch (Exception e) {
+        getLogger().error(e.getMessage(), e);
+      }
+
+      return;
+    }
+
     String backupFolder = getBackupFolder();
 
     File backupFile = new File(backupFolder);
@@ -499,9 +711,9 @@ public abstract class Game extends PluginBase {
     }
 
     try {
-      ZipUtils.zip(
-        getWorldsFolder() + mapName,
-        backupFolder + mapName + ".zip"
+      mapBackupEngine.compress(
+        new File(getWorldsFolder() + mapName),
+        new File(backupFolder + mapName + ".zip")
       );
     } catch (Exception e) {
       getLogger().error(e.getMessage(), e);
@@ -511,19 +723,58 @@ public abstract class Game extends PluginBase {
   public void resetMapBackup(String mapName) {
     unloadMap(mapName);
 
+    if (mapHasSnapshot(mapName)) {
+      try {
+        int restored = mapBackupEngine.restoreSnapshot(
+          new File(getTemplatesFolder() + mapName),
+          new File(getWorldsFolder() + mapName)
+        );
+
+        getLogger()
+          .debug(restored + " file(s) restored from " + mapName + " snapshot");
+      } catch (Exception e) {
+        getLogger().error(e.getMessage(), e);
+      }
+
+      return;
+    }
+
     try {
-      ZipUtils.unzip(getBackupFolder() + mapName + ".zip", getWorldsFolder());
+      mapBackupEngine.extract(
+        new File(getBackupFolder() + mapName + ".zip"),
+        new File(getWorldsFolder())
+      );
     } catch (Exception e) {
       getLogger().error(e.getMessage(), e);
     }
   }
 
   public boolean mapHasBackup(String mapName) {
+    if (snapshotMode) {
+      return mapHasSnapshot(mapName);
+    }
+
     return (new File(getBackupFolder() + mapName + ".zip")).exists();
   }
 
+  /**
+   * Only counts while snapshotMode is on, a template left behind by an
+   * earlier run with it enabled must not be restored.
+   */
+  public boolean mapHasSnapshot(String mapName) {
+    return (
+      snapshotMode && (new File(getTemplatesFolder() + mapName)).isDirectory()
+    );
+  }
+
   public void removeMapBackup(String mapName) {
     (new File(getBackupFolder() + mapName + ".zip")).delete();
+
+    try {
+      mapBackupEngine.deleteSnapshot(new File(getTemplatesFolder() + mapName));
+    } catch (Exception e) {
+      getLogger().error(e.getMessage(), e);
+    }
   }
 
   public void unloadMap(String mapName) {
@@ -551,17 +802,83 @@ public abstract class Game extends PluginBase {
   }
 
   public void end(Map<Player, Integer> pedestalWinners, int time) {
-    if (phaseSeries != null) {
-      phaseSeries.end();
-      phaseSeries.setFrozen(true);
-      phaseSeries.cleanup();
-    }
+    end(getDefaultArena(), pedestalWinners, time);
+  }
 
-    phaseSeries = new PhaseSeries(this);
-    phaseSeries.add(
-      new EndGamePhase(this, Duration.ofSeconds(time), pedestalWinners)
+  public void end(
+    Arena arena,
+    Map<Player, Integer> pedestalWinners,
+    int time
+  ) {
+    PhaseSeries series = new PhaseSeries(this);
+    series.add(
+      new EndGamePhase(this, arena, Duration.ofSeconds(time), pedestalWinners)
     );
-    phaseSeries.start();
+
+    replacePhaseSeries(arena, series);
+  }
+
+  private void replacePhaseSeries(Arena arena, PhaseSeries series) {
+    PhaseSeries current = arena.getPhaseSeries();
+
+    if (current != null) {
+      current.end();
+      current.setFrozen(true);
+      current.cleanup();
+    }
+
+    if (arena.isDefault()) {
+      phaseSeries = series;
+    } else {
+      arena.setPhaseSeries(series);
+    }
+
+    series.start();
+  }
+
+  /**
+   * Phases of one whole round for the arena, from the waiting lobby to the
+   * last game phase. Games overriding it are reset in place between
+   * matches, otherwise the server still restarts after every match.
+   */
+  protected List<GamePhase<Game>> createRoundPhases(Arena arena) {
+    return null;
+  }
+
+  /**
+   * Clears the finished round and starts the arena's phases again, players
+   * still online are sent back to the waiting room. Returns false when the
+   * game does not provide round phases. Must run on the main thread.
+   */
+  public boolean startNewRound(Arena arena) {
+    List<GamePhase<Game>> phases = createRoundPhases(arena);
+
+    if (phases == null || phases.isEmpty()) {
+      return false;
+    }
+
+    arena.clearRound();
+
+    arena
+      .getPlayers()
+      .forEach(
+        player -> {
+          User user = userFactory.get(player);
+
+          if (user != null) {
+            user.convertPlayer();
+          }
+
+          waitingRoomMap.teleportToSafeSpawn(player);
+        }
+      );
+
+    PhaseSeries series = new PhaseSeries(this);
+    phases.forEach(series::add);
+
+    replacePhaseSeries(arena, series);
+
+    return true;
   }
 
   public void searchNewGameFor(Player player) {}
@@ -639,6 +956,12 @@ public abstract class Game extends PluginBase {
     return gameMapManager.getMapWinner();
   }
 
+  public void setMapVoteFinished(boolean mapVoteFinished) {
+    this.mapVoteFinished = mapVoteFinished;
+
+    gameMapManager.setVotingFrozen(mapVoteFinished);
+  }
+
   public void addTeam(Team team) {
     teams.add(team);
   }
@@ -729,6 +1052,34 @@ public abstract class Game extends PluginBase {
   public void onDisable() {
     close();
 
+    if (threadPool != null) {
+      getLogger().debug("Worker pool: " + threadPool.getStatus());
+
+      if (
+        !threadPool.shutdownGracefully(
+          getConfig().getInt("thread_pool_shutdown_timeout"),
+          TimeUnit.SECONDS
+        )
+      ) {
+        getLogger().warning("Worker pool did not terminate in time");
+      }
+    }
+
+    if (timeoutScheduler != null) {
+      timeoutScheduler.shutdownNow();
+    }
+
+    if (mainThreadQueue != null) {
+      getLogger().debug("Main thread queue: " + mainThreadQueue.getStatus());
+      mainThreadQueue.drainAll();
+    }
+
+    if (mapBackupEngine != null) {
+      mapBackupEngine.shutdown();
+    }
+
+    getLogger().debug("Custom items: " + CustomItemFactory.getStatus());
+
     getLogger().info(TextFormat.RED + "This game has been disabled!");
   }
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.arena;
+
+import cn.nukkit.Player;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.map.GameMap;
+import net.josscoder.gameapi.map.manager.GameMapManager;
+import net.josscoder.gameapi.phase.PhaseSeries;
+import net.josscoder.gameapi.team.Team;
+
+@Getter
+public class Arena {
+
+  private final Game game;
+
+  private final String id;
+
+  private final Set<Player> players = ConcurrentHashMap.newKeySet();
+
+  private final Set<Player> neutralPlayers = ConcurrentHashMap.newKeySet();
+
+  private final Set<Player> spectators = ConcurrentHashMap.newKeySet();
+
+  @Getter(AccessLevel.NONE)
+  private final Set<Player>[] gamemodePlayers = createGamemodeSets();
+
+  private final List<Team> teams;
+
+  private final GameMapManager gameMapManager;
+
+  @Setter
+  private PhaseSeries phaseSeries = null;
+
+  @Setter
+  private int maxPlayers = 0;
+
+  private boolean started = false;
+
+  private boolean mapVoteFinished = false;
+
+  /**
+   * Creates an arena with its own, empty map manager, maps have to be added
+   * to it before the first match.
+   */
+  public Arena(Game game, String id) {
+    this(game, id, new ArrayList<>(), new GameMapManager(game));
+  }
+
+  public Arena(
+    Game game,
+    String id,
+    List<Team> teams,
+    GameMapManager gameMapManager
+  ) {
+    this.game = game;
+    this.id = id;
+    this.teams = teams;
+    this.gameMapManager = gameMapManager;
+  }
+
+  public boolean isDefault() {
+    return game.getArenaManager().getDefaultArena() == this;
+  }
+
+  public int getMaxPlayers() {
+    return maxPlayers > 0 ? maxPlayers : game.getMaxPlayers();
+  }
+
+  public boolean isStarted() {
+    return isDefault() ? game.isStarted() : started;
+  }
+
+  public void setStarted(boolean started) {
+    if (isDefault()) {
+      game.setStarted(started);
+    }
+
+    this.started = started;
+  }
+
+  public boolean isMapVoteFinished() {
+    return isDefault() ? game.isMapVoteFinished() : mapVoteFinished;
+  }
+
+  public void setMapVoteFinished(boolean mapVoteFinished) {
+    if (isDefault()) {
+      game.setMapVoteFinished(mapVoteFinished);
+    }
+
+    this.mapVoteFinished = mapVoteFinished;
+
+    gameMapManager.setVotingFrozen(mapVoteFinished);
+  }
+
+  /**
+   * Forgets everything the last match left behind, players stay in the
+   * arena for the next round.
+   */
+  public void clearRound() {
+    setStarted(false);
+    setMapVoteFinished(false);
+    gameMapManager.resetVotes();
+    teams.forEach(Team::clearMembers);
+  }
+
+  public GameMap getMapWinner() {
+    return gameMapManager.getMapWinner();
+  }
+
+  public PhaseSeries getPhaseSeries() {
+    return isDefault() ? game.getPhaseSeries() : phaseSeries;
+  }
+
+  /**
+   * Starts this arena's phase series. The default arena is driven by the
+   * game itself, so this only applies to arenas added through the manager.
+   */
+  public void start() {
+    if (isDefault() || phaseSeries == null) {
+      return;
+    }
+
+    phaseSeries.start();
+  }
+
+  /**
+   * Starts the next round through Game.createRoundPhases. Without round
+   * phases the default arena restarts the server as before, any other
+   * arena sends its players away and is removed so nobody joins it.
+   */
+  public void reset() {
+    if (game.startNewRound(this)) {
+      return;
+    }
+
+    if (isDefault()) {
+      game.reset();
+
+      return;
+    }
+
+    game
+      .getLogger()
+      .warning("Arena " + id + " has no round phases, closing it");
+
+    List<Player> leaving = new ArrayList<>(players);
+
+    game.searchNewGameFor(leaving);
+    leaving.forEach(game.getArenaManager()::quit);
+
+    clearRound();
+    game.getArenaManager().removeArena(id);
+  }
+
+  public List<Team> getSortedTeams(boolean asc) {
+    return teams
+      .stream()
+      .sorted(
+        Comparator.comparing(
+          Team::countMembers,
+          asc ? Comparator.naturalOrder() : Comparator.reverseOrder()
+        )
+      )
+      .collect(Collectors.toList());
+  }
+
+  public boolean contains(Player player) {
+    return players.contains(player);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Set<Player>[] createGamemodeSets() {
+    Set<Player>[] sets = new Set[4];
+
+    for (int i = 0; i < sets.length; i++) {
+      sets[i] = ConcurrentHashMap.newKeySet();
+    }
+
+    return sets;
+  }
+
+  public Set<Player> getPlayers(int gamemode) {
+    return gamemodePlayers[gamemode & 3];
+  }
+
+  public void addPlayer(Player player) {
+    players.add(player);
+    updateGamemode(player, player.getGamemode());
+  }
+
+  public void removePlayer(Player player) {
+    players.remove(player);
+    neutralPlayers.remove(player);
+    spectators.remove(player);
+
+    for (Set<Player> set : gamemodePlayers) {
+      set.remove(player);
+    }
+
+    teams.forEach(team -> team.removeMember(player));
+    gameMapManager.removeVoteIfHasVoted(player);
+  }
+
+  public void updateGamemode(Player player, int gamemode) {
+    if (!players.contains(player)) {
+      return;
+    }
+
+    for (int i = 0; i < gamemodePlayers.length; i++) {
+      if (i == gamemode) {
+        gamemodePlayers[i].add(player);
+      } else {
+        gamemodePlayers[i].remove(player);
+      }
+    }
+
+    if (gamemode == Player.SPECTATOR) {
+      neutralPlayers.remove(player);
+      spectators.add(player);
+    } else {
+      spectators.remove(player);
+      neutralPlayers.add(player);
+    }
+  }
+
+  public int countPlayers() {
+    return players.size();
+  }
+
+  public boolean isFull() {
+    return countPlayers() >= getMaxPlayers();
+  }
+
+  public boolean isAvailable() {
+    return !isFull() && !isStarted();
+  }
+}
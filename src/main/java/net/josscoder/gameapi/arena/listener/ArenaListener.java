@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.arena.listener;
+
+import cn.nukkit.Player;
+import cn.nukkit.event.EventHandler;
+import cn.nukkit.event.EventPriority;
+import cn.nukkit.event.player.PlayerGameModeChangeEvent;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.listener.GameListener;
+
+public class ArenaListener extends GameListener<Game> {
+
+  public ArenaListener(Game game) {
+    super(game);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onGamemodeChange(PlayerGameModeChangeEvent event) {
+    Player player = event.getPlayer();
+
+    game.getArena(player).updateGamemode(player, event.getNewGamemode());
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.arena.manager;
+
+import cn.nukkit.Player;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.Getter;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
+
+@Getter
+public class ArenaManager {
+
+  private final Game game;
+
+  private final Arena defaultArena;
+
+  private final List<Arena> arenas = new CopyOnWriteArrayList<>();
+
+  private final Map<Player, Arena> playerArenas = new ConcurrentHashMap<>();
+
+  public ArenaManager(Game game, Arena defaultArena) {
+    this.game = game;
+    this.defaultArena = defaultArena;
+  }
+
+  public int arenasSize() {
+    return arenas.size();
+  }
+
+  public void addArena(Arena arena) {
+    arenas.add(arena);
+  }
+
+  public void removeArena(String id) {
+    Arena arena = getArena(id);
+
+    if (arena == null) {
+      return;
+    }
+
+    arenas.remove(arena);
+    arena.getPlayers().forEach(playerArenas::remove);
+  }
+
+  public Arena getArena(String id) {
+    for (Arena arena : arenas) {
+      if (arena.getId().equals(id)) {
+        return arena;
+      }
+    }
+
+    return null;
+  }
+
+  public Arena getArena(Player player) {
+    return playerArenas.getOrDefault(player, defaultArena);
+  }
+
+  public Arena getAvailableArena() {
+    if (!game.isMultiArena()) {
+      return defaultArena;
+    }
+
+    for (Arena arena : arenas) {
+      if (arena.isAvailable()) {
+        return arena;
+      }
+    }
+
+    return null;
+  }
+
+  public boolean isFull() {
+    return getAvailableArena() == null;
+  }
+
+  public Arena join(Player player) {
+    return join(player, getAvailableArena());
+  }
+
+  public Arena join(Player player, Arena arena) {
+    if (arena == null) {
+      return null;
+    }
+
+    quit(player);
+
+    arena.addPlayer(player);
+    playerArenas.put(player, arena);
+
+    return arena;
+  }
+
+  public void quit(Player player) {
+    Arena arena = playerArenas.remove(player);
+
+    if (arena != null) {
+      arena.removePlayer(player);
+    }
+  }
+}
@@ -16,14 +16,19 @@
 
 package net.josscoder.gameapi.command;
 
+import cn.nukkit.Player;
 import cn.nukkit.command.Command;
 import cn.nukkit.command.CommandSender;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.cooldown.Cooldown;
+import net.josscoder.gameapi.user.User;
 
 public abstract class GameCommand<T extends Game> extends Command {
 
   protected final T game;
 
+  protected Cooldown cooldown = null;
+
   public GameCommand(T game, String name) {
     super(name);
     this.game = game;
@@ -55,6 +60,24 @@ public abstract class GameCommand<T extends Game> extends Command {
     this.game = game;
   }
 
+  public void setCooldown(Cooldown cooldown) {
+    this.cooldown = cooldown;
+  }
+
+  /**
+   * Rate limits players through the game's cooldown service, the console
+   * and commands without a cooldown always pass.
+   */
+  protected boolean tryCooldown(CommandSender sender) {
+    if (cooldown == null || !(sender instanceof Player)) {
+      return true;
+    }
+
+    User user = game.getUserFactory().get((Player) sender);
+
+    return user == null || game.getCooldownService().tryAcquire(user, cooldown);
+  }
+
   @Override
   public boolean execute(CommandSender sender, String label, String[] args) {
     return false;
@@ -23,23 +23,30 @@ import com.denzelcode.form.element.Button;
 import com.denzelcode.form.window.SimpleWindowForm;
 import net.josscoder.gameapi.Game;
 import net.josscoder.gameapi.command.GameCommand;
+import net.josscoder.gameapi.cooldown.Cooldown;
 import net.josscoder.gameapi.util.Utils;
 
 public class TeleporterCommand extends GameCommand<Game> {
 
+  private static final Cooldown COOLDOWN = Cooldown.ofMillis(
+    "teleporterCommand",
+    1000
+  );
+
   public TeleporterCommand(Game game) {
     super(game, "teleporter", "Display a list of players to teleport to");
+    setCooldown(COOLDOWN);
   }
 
   @Override
   public boolean execute(CommandSender sender, String label, String[] args) {
-    if (!(sender instanceof Player)) {
+    if (!(sender instanceof Player) || !tryCooldown(sender)) {
       return false;
     }
 
     Player player = (Player) sender;
 
-    if (!game.isStarted() || !player.isSpectator()) {
+    if (!game.getArena(player).isStarted() || !player.isSpectator()) {
       return false;
     }
 
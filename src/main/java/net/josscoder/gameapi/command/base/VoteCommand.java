@@ -23,32 +23,45 @@ import com.denzelcode.form.element.Button;
 import com.denzelcode.form.element.ImageType;
 import com.denzelcode.form.window.SimpleWindowForm;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
 import net.josscoder.gameapi.command.GameCommand;
+import net.josscoder.gameapi.cooldown.Cooldown;
 import net.josscoder.gameapi.map.manager.GameMapManager;
 import net.josscoder.gameapi.util.Utils;
 
 public class VoteCommand extends GameCommand<Game> {
 
+  private static final Cooldown COOLDOWN = Cooldown.ofMillis(
+    "voteCommand",
+    1000
+  );
+
   public VoteCommand(Game game) {
     super(game, "vote", "Vote");
+    setCooldown(COOLDOWN);
   }
 
   @Override
   public boolean execute(CommandSender sender, String label, String[] args) {
     if (
       !(sender instanceof Player) ||
-      game.isStarted() ||
-      game.isMapVoteFinished() ||
-      !game.isCanVoteMap()
+      !game.isCanVoteMap() ||
+      !tryCooldown(sender)
     ) {
       return false;
     }
 
     Player player = (Player) sender;
 
+    Arena arena = game.getArena(player);
+
+    if (arena.isStarted() || arena.isMapVoteFinished()) {
+      return false;
+    }
+
     Utils.playSound(player, "random.pop", 0.5f, 1);
 
-    GameMapManager mapManager = game.getGameMapManager();
+    GameMapManager mapManager = arena.getGameMapManager();
 
     SimpleWindowForm form = new SimpleWindowForm(
       null,
@@ -83,7 +96,7 @@ public class VoteCommand extends GameCommand<Game> {
 
         String mapName = button.getName();
 
-        if (game.isStarted() || game.isMapVoteFinished()) {
+        if (arena.isStarted() || arena.isMapVoteFinished()) {
           return;
         }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.cooldown;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+@Getter
+public class Cooldown {
+
+  public enum Mode {
+    NANO_TIME,
+    TICKS,
+  }
+
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  private final int id;
+  private final String name;
+  private final Mode mode;
+  private final long window;
+
+  private Cooldown(String name, Mode mode, long window) {
+    this.id = COUNTER.getAndIncrement();
+    this.name = name;
+    this.mode = mode;
+    this.window = window;
+  }
+
+  /**
+   * Creates a cooldown measured with System.nanoTime, meant to be kept as a
+   * constant since every instance takes a row in the cooldown service.
+   */
+  public static Cooldown of(String name, Duration window) {
+    return new Cooldown(name, Mode.NANO_TIME, window.toNanos());
+  }
+
+  public static Cooldown ofMillis(String name, long millis) {
+    return of(name, Duration.ofMillis(millis));
+  }
+
+  /**
+   * Creates a cooldown measured in server ticks, which only costs a field
+   * read per check.
+   */
+  public static Cooldown ofTicks(String name, int ticks) {
+    return new Cooldown(name, Mode.TICKS, ticks);
+  }
+
+  static int count() {
+    return COUNTER.get();
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
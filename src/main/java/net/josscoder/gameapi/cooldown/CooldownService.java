@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.cooldown;
+
+import cn.nukkit.Server;
+import java.util.Arrays;
+import net.josscoder.gameapi.user.User;
+
+public class CooldownService {
+
+  private static final int INITIAL_SLOTS = 64;
+
+  private final Server server;
+
+  private final long origin = System.nanoTime();
+
+  /**
+   * Rows are replaced when they grow, every access holds the lock so no
+   * write can land in a row that is being copied.
+   */
+  private long[][] expiries = new long[0][];
+
+  public CooldownService(Server server) {
+    this.server = server;
+  }
+
+  private long now(Cooldown cooldown) {
+    return cooldown.getMode() == Cooldown.Mode.TICKS
+      ? server.getTick()
+      : System.nanoTime() - origin;
+  }
+
+  /**
+   * Starts the cooldown for the user if it is not running and tells
+   * whether the action may go through.
+   */
+  public synchronized boolean tryAcquire(User user, Cooldown cooldown) {
+    int slot = user.getSlot();
+
+    if (slot < 0) {
+      return true;
+    }
+
+    long[] row = row(cooldown.getId(), slot);
+    long now = now(cooldown);
+
+    if (row[slot] > now) {
+      return false;
+    }
+
+    row[slot] = now + cooldown.getWindow();
+
+    return true;
+  }
+
+  public boolean isActive(User user, Cooldown cooldown) {
+    return getRemaining(user, cooldown) > 0;
+  }
+
+  /**
+   * Returns the remaining time in nanoseconds or ticks depending on the
+   * cooldown mode.
+   */
+  public synchronized long getRemaining(User user, Cooldown cooldown) {
+    int slot = user.getSlot();
+
+    long[][] rows = expiries;
+
+    if (
+      slot < 0 ||
+      cooldown.getId() >= rows.length ||
+      rows[cooldown.getId()] == null ||
+      slot >= rows[cooldown.getId()].length
+    ) {
+      return 0;
+    }
+
+    return Math.max(0, rows[cooldown.getId()][slot] - now(cooldown));
+  }
+
+  public synchronized void reset(User user, Cooldown cooldown) {
+    int slot = user.getSlot();
+
+    if (slot >= 0 && getRemaining(user, cooldown) > 0) {
+      expiries[cooldown.getId()][slot] = 0;
+    }
+  }
+
+  /**
+   * Clears every cooldown of a user slot so the next user taking it starts
+   * clean.
+   */
+  public synchronized void release(int slot) {
+    if (slot < 0) {
+      return;
+    }
+
+    for (long[] row : expiries) {
+      if (row != null && slot < row.length) {
+        row[slot] = 0;
+      }
+    }
+  }
+
+  private long[] row(int id, int slot) {
+    long[][] rows = expiries;
+
+    if (id < rows.length && rows[id] != null && slot < rows[id].length) {
+      return rows[id];
+    }
+
+    return grow(id, slot);
+  }
+
+  private long[] grow(int id, int slot) {
+    long[][] rows = expiries;
+
+    if (id >= rows.length) {
+      rows = Arrays.copyOf(rows, Math.max(id + 1, Cooldown.count()));
+    }
+
+    long[] row = rows[id];
+
+    if (row == null) {
+      row = new long[Math.max(INITIAL_SLOTS, slot + 1)];
+    } else if (slot >= row.length) {
+      row = Arrays.copyOf(row, Math.max(row.length * 2, slot + 1));
+    }
+
+    rows[id] = row;
+    expiries = rows;
+
+    return row;
+  }
+}
@@ -25,7 +25,9 @@ import cn.nukkit.item.enchantment.Enchantment;
 import cn.nukkit.nbt.tag.CompoundTag;
 import cn.nukkit.utils.TextFormat;
 import java.util.*;
+import lombok.AccessLevel;
 import lombok.Getter;
+import net.josscoder.gameapi.cooldown.Cooldown;
 import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
 import net.josscoder.gameapi.customitem.handler.EntityHandler;
 import net.josscoder.gameapi.customitem.handler.Handler;
@@ -34,12 +36,27 @@ import net.josscoder.gameapi.user.User;
 @Getter
 public class CustomItem {
 
+  public static final Cooldown DEFAULT_COOLDOWN = Cooldown.ofMillis(
+    "customItem",
+    500
+  );
+
   private final String uuid;
+  private final int id;
+  private final long nonce = CustomItemFactory.nextNonce();
+
+  @Getter(AccessLevel.NONE)
   private Item item;
+
   private String customName;
   private boolean transferable;
+
+  @Getter(AccessLevel.NONE)
   private final List<Enchantment> enchantments;
+
+  @Getter(AccessLevel.NONE)
   private final LinkedList<String> lore;
+
   private ArrayList<String> commands;
   private int damage = 0;
   private int count = 1;
@@ -47,6 +64,10 @@ public class CustomItem {
   private EntityHandler entityDamageHandler;
   private EntityHandler entityInteractHandler;
   private String sound;
+  private Cooldown cooldown = DEFAULT_COOLDOWN;
+
+  @Getter(AccessLevel.NONE)
+  private volatile Item template;
 
   public CustomItem(String customName) {
     this(Item.get(Item.AIR), customName);
@@ -114,17 +135,53 @@ public class CustomItem {
     this.commands = commands;
     this.sound = sound;
 
-    CustomItemFactory.storeItem(this);
+    this.id = CustomItemFactory.storeItem(this);
+  }
+
+  /**
+   * Returns the backing item, the cached template is dropped because the
+   * caller may change it. Use build() or getBaseItem() on hot paths.
+   */
+  public Item getItem() {
+    invalidate();
+
+    return item;
+  }
+
+  public List<Enchantment> getEnchantments() {
+    invalidate();
+
+    return enchantments;
+  }
+
+  public LinkedList<String> getLore() {
+    invalidate();
+
+    return lore;
+  }
+
+  public Item getBaseItem() {
+    return item.clone();
+  }
+
+  public List<Enchantment> getEnchantmentsView() {
+    return Collections.unmodifiableList(enchantments);
+  }
+
+  public List<String> getLoreView() {
+    return Collections.unmodifiableList(lore);
   }
 
   public CustomItem setItem(Item item) {
     this.item = item;
+    invalidate();
 
     return this;
   }
 
   public CustomItem setCustomName(String customName) {
     this.customName = customName;
+    invalidate();
 
     return this;
   }
@@ -137,22 +194,26 @@ public class CustomItem {
 
   public CustomItem setDamage(int damage) {
     this.damage = damage;
+    invalidate();
 
     return this;
   }
 
   public CustomItem setCount(int count) {
     this.count = count;
+    invalidate();
 
     return this;
   }
 
   public void clearLore() {
     lore.clear();
+    invalidate();
   }
 
   public CustomItem addLore(String line) {
     lore.add(line);
+    invalidate();
 
     return this;
   }
@@ -228,6 +289,7 @@ public class CustomItem {
 
   public void addEnchantment(Enchantment... enchantment) {
     enchantments.addAll(Arrays.asList(enchantment));
+    invalidate();
   }
 
   public void addCommands(String... command) {
@@ -246,16 +308,72 @@ public class CustomItem {
     return this;
   }
 
+  public CustomItem setCooldown(Cooldown cooldown) {
+    this.cooldown = cooldown;
+
+    return this;
+  }
+
+  /**
+   * Releases this item together with the given phase or user instead of
+   * keeping it registered for the whole server lifetime.
+   */
+  public CustomItem bindTo(Object owner) {
+    CustomItemFactory.bind(this, owner);
+
+    return this;
+  }
+
+  public void release() {
+    CustomItemFactory.release(this);
+  }
+
+  /**
+   * Drops the built template, the next build() applies the current state
+   * again.
+   */
+  public void invalidate() {
+    template = null;
+  }
+
+  /**
+   * Returns a clone of the template built from the current state, the
+   * template itself is only rebuilt after a change.
+   */
   public Item build() {
-    item.setDamage(damage);
-    item.setCount(count);
+    Item built = template;
+
+    if (built == null) {
+      built = buildTemplate();
+    }
+
+    return built.clone();
+  }
 
-    enchantments.forEach(item::addEnchantment);
+  private synchronized Item buildTemplate() {
+    if (template != null) {
+      return template;
+    }
+
+    Item built = item.clone();
+    built.setDamage(damage);
+    built.setCount(count);
+
+    enchantments.forEach(built::addEnchantment);
 
     CompoundTag nbt = new CompoundTag().putString("customItem", uuid);
 
-    item.setLore(lore.toArray(new String[0]));
+    built.setLore(lore.toArray(new String[0]));
+    built.setCustomName(customName).setCustomBlockData(nbt);
+
+    CompoundTag tag = built.getNamedTag();
+    tag
+      .putInt(CustomItemFactory.ID_TAG, id)
+      .putLong(CustomItemFactory.NONCE_TAG, nonce);
+    built.setNamedTag(tag);
+
+    template = built;
 
-    return item.setCustomName(customName).setCustomBlockData(nbt);
+    return built;
   }
 }
@@ -1,18 +1,248 @@
 package net.josscoder.gameapi.customitem.factory;
 
-import java.util.HashMap;
+import cn.nukkit.Server;
+import cn.nukkit.item.Item;
+import cn.nukkit.nbt.tag.CompoundTag;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.josscoder.gameapi.customitem.CustomItem;
 
 public class CustomItemFactory {
 
-  protected static Map<String, CustomItem> storage = new HashMap<>();
+  public static final String ID_TAG = "customItemId";
+
+  public static final String NONCE_TAG = "customItemNonce";
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final int INDEX_BITS = 16;
+
+  private static final int MAX_ITEMS = 1 << INDEX_BITS;
+
+  private static final int INDEX_MASK = MAX_ITEMS - 1;
+
+  private static final int GENERATION_MASK = 0x7fff;
+
+  protected static Map<String, CustomItem> storage =
+    new ConcurrentHashMap<>();
+
+  private static volatile AtomicReferenceArray<CustomItem> registry =
+    new AtomicReferenceArray<>(64);
+
+  private static int[] generations = new int[64];
+
+  private static final Deque<Integer> freeIndexes = new ArrayDeque<>();
+
+  private static int nextIndex = 0;
+
+  private static final Map<Object, Set<CustomItem>> scopes =
+    new ConcurrentHashMap<>();
+
+  private static final Map<CustomItem, Object> owners =
+    new ConcurrentHashMap<>();
+
+  private static int peakSize = 0;
+
+  private static long releasedCount = 0;
+
+  private static long unregisteredCount = 0;
 
   public static CustomItem get(String name) {
     return storage.get(name);
   }
 
-  public static void storeItem(CustomItem item) {
+  /**
+   * Ids carry the generation of their slot, so items built before a slot
+   * was released and reused no longer resolve.
+   */
+  public static CustomItem get(int id) {
+    AtomicReferenceArray<CustomItem> items = registry;
+
+    int index = id & INDEX_MASK;
+
+    if (id < 0 || index >= items.length()) {
+      return null;
+    }
+
+    CustomItem item = items.get(index);
+
+    return item != null && item.getId() == id ? item : null;
+  }
+
+  /**
+   * Registers the item and returns its id. When every slot is live the
+   * item is left unregistered (id -1): it still builds, but its handlers
+   * will not fire until scoped items are released.
+   */
+  public static synchronized int storeItem(CustomItem item) {
+    Integer free = freeIndexes.poll();
+
+    int index;
+
+    if (free != null) {
+      index = free;
+    } else {
+      if (nextIndex >= MAX_ITEMS) {
+        if (unregisteredCount++ == 0) {
+          Server
+            .getInstance()
+            .getLogger()
+            .warning(
+              "Custom item registry is full (" +
+              MAX_ITEMS +
+              " live items), new items are left unregistered"
+            );
+        }
+
+        return -1;
+      }
+
+      index = nextIndex++;
+
+      if (index >= registry.length()) {
+        grow();
+      }
+    }
+
     storage.put(item.getUuid(), item);
+    registry.set(index, item);
+
+    peakSize = Math.max(peakSize, size());
+
+    return (generations[index] << INDEX_BITS) | index;
+  }
+
+  private static void grow() {
+    AtomicReferenceArray<CustomItem> current = registry;
+
+    int length = Math.min(current.length() * 2, MAX_ITEMS);
+
+    AtomicReferenceArray<CustomItem> grown = new AtomicReferenceArray<>(
+      length
+    );
+
+    for (int i = 0; i < current.length(); i++) {
+      grown.set(i, current.get(i));
+    }
+
+    generations = Arrays.copyOf(generations, length);
+    registry = grown;
+  }
+
+  /**
+   * Ties the item to an owner, usually a GamePhase or a User, so it is
+   * released together with it. Unbound items stay global.
+   */
+  public static synchronized void bind(CustomItem item, Object owner) {
+    if (item.getId() < 0) {
+      return;
+    }
+
+    Object previous = owners.put(item, owner);
+
+    if (previous != null) {
+      Set<CustomItem> items = scopes.get(previous);
+
+      if (items != null) {
+        items.remove(item);
+      }
+    }
+
+    scopes
+      .computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet())
+      .add(item);
+  }
+
+  public static synchronized void release(CustomItem item) {
+    if (item.getId() < 0) {
+      return;
+    }
+
+    int index = item.getId() & INDEX_MASK;
+
+    if (!registry.compareAndSet(index, item, null)) {
+      return;
+    }
+
+    storage.remove(item.getUuid(), item);
+
+    Object owner = owners.remove(item);
+
+    if (owner != null) {
+      Set<CustomItem> items = scopes.get(owner);
+
+      if (items != null) {
+        items.remove(item);
+      }
+    }
+
+    generations[index] = (generations[index] + 1) & GENERATION_MASK;
+    freeIndexes.push(index);
+
+    releasedCount++;
+  }
+
+  public static void releaseAll(Object owner) {
+    Set<CustomItem> items = scopes.remove(owner);
+
+    if (items != null) {
+      items.forEach(CustomItemFactory::release);
+    }
+  }
+
+  public static synchronized int size() {
+    return nextIndex - freeIndexes.size();
+  }
+
+  public static int countScopes() {
+    return scopes.size();
+  }
+
+  public static synchronized String getStatus() {
+    return String.format(
+      "live=%d, peak=%d, released=%d, unregistered=%d, scopes=%d, capacity=%d/%d",
+      size(),
+      peakSize,
+      releasedCount,
+      unregisteredCount,
+      scopes.size(),
+      registry.length(),
+      MAX_ITEMS
+    );
+  }
+
+  /**
+   * Finds the custom item behind an item from the id and nonce written by
+   * CustomItem.build(). The nonce is random per item, so forged NBT with a
+   * guessed id does not resolve.
+   */
+  public static CustomItem resolve(Item item) {
+    if (item == null || !item.hasCompoundTag()) {
+      return null;
+    }
+
+    CompoundTag tag = item.getNamedTag();
+
+    if (tag == null || !tag.contains(ID_TAG) || !tag.contains(NONCE_TAG)) {
+      return null;
+    }
+
+    CustomItem customItem = get(tag.getInt(ID_TAG));
+
+    if (customItem == null || customItem.getNonce() != tag.getLong(NONCE_TAG)) {
+      return null;
+    }
+
+    return customItem;
+  }
+
+  public static long nextNonce() {
+    return RANDOM.nextLong();
   }
 }
@@ -11,7 +11,6 @@ import net.josscoder.gameapi.customitem.CustomItem;
 import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
 import net.josscoder.gameapi.listener.GameListener;
 import net.josscoder.gameapi.user.User;
-import net.josscoder.gameapi.util.TimeUtils;
 
 abstract class CustomItemListener extends GameListener<Game> {
 
@@ -20,21 +19,7 @@ abstract class CustomItemListener extends GameListener<Game> {
   }
 
   public void handleCancel(Item item, Cancellable event) {
-    if (item == null) {
-      return;
-    }
-
-    if (item.getCustomBlockData() == null) {
-      return;
-    }
-
-    String uuid = item.getCustomBlockData().getString("customItem");
-
-    if (uuid == null) {
-      return;
-    }
-
-    CustomItem customItem = CustomItemFactory.get(uuid);
+    CustomItem customItem = CustomItemFactory.resolve(item);
 
     if (customItem == null) {
       return;
@@ -63,23 +48,11 @@ abstract class CustomItemListener extends GameListener<Game> {
 
     Item item = player.getInventory().getItemInHand();
 
-    if (item == null || item.getCustomBlockData() == null) {
-      return false;
-    }
-
-    String uuid = item.getCustomBlockData().getString("customItem");
-
-    if (uuid == null) {
-      return false;
-    }
-
-    CustomItem customItem = CustomItemFactory.get(uuid);
+    CustomItem customItem = CustomItemFactory.resolve(item);
 
     if (
       customItem == null ||
-      user.getLocalStorage().getLong("item") +
-      500 >=
-      TimeUtils.getTimestampMilli()
+      !game.getCooldownService().tryAcquire(user, customItem.getCooldown())
     ) {
       return false;
     }
@@ -88,8 +61,6 @@ abstract class CustomItemListener extends GameListener<Game> {
       user.playSound(customItem.getSound());
     }
 
-    user.getLocalStorage().set("item", TimeUtils.getTimestampMilli());
-
     customItem.executeAction(user, player);
 
     return true;
@@ -12,72 +12,66 @@ import cn.nukkit.inventory.transaction.data.UseItemData;
 import cn.nukkit.inventory.transaction.data.UseItemOnEntityData;
 import cn.nukkit.item.Item;
 import cn.nukkit.level.Level;
-import cn.nukkit.network.protocol.DataPacket;
 import cn.nukkit.network.protocol.InventoryTransactionPacket;
 import cn.nukkit.network.protocol.PlayerActionPacket;
 import cn.nukkit.network.protocol.ProtocolInfo;
 import net.josscoder.gameapi.Game;
 import net.josscoder.gameapi.customitem.CustomItem;
 import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
+import net.josscoder.gameapi.network.PacketHandler;
+import net.josscoder.gameapi.network.PacketRouter;
 import net.josscoder.gameapi.user.User;
-import net.josscoder.gameapi.util.TimeUtils;
 
 public class InteractiveListener extends CustomItemListener {
 
   public InteractiveListener(Game game) {
     super(game);
-  }
 
-  @EventHandler(priority = EventPriority.NORMAL)
-  public void onInteract(DataPacketReceiveEvent event) {
-    DataPacket packet = event.getPacket();
+    PacketRouter packetRouter = game.getPacketRouter();
+    packetRouter.register(
+      ProtocolInfo.PLAYER_ACTION_PACKET,
+      (PacketHandler<PlayerActionPacket>) this::onPlayerAction
+    );
+    packetRouter.register(
+      ProtocolInfo.INVENTORY_TRANSACTION_PACKET,
+      (PacketHandler<InventoryTransactionPacket>) this::onInventoryTransaction
+    );
+  }
 
-    if (
-      packet.pid() != ProtocolInfo.INVENTORY_TRANSACTION_PACKET &&
-      packet.pid() != ProtocolInfo.PLAYER_ACTION_PACKET
-    ) {
-      return;
+  private void onPlayerAction(
+    DataPacketReceiveEvent event,
+    PlayerActionPacket packet
+  ) {
+    if (packet.action == PlayerActionPacket.ACTION_START_BREAK) {
+      handleAction(event.getPlayer());
     }
+  }
 
+  private void onInventoryTransaction(
+    DataPacketReceiveEvent event,
+    InventoryTransactionPacket packet
+  ) {
     if (
-      packet instanceof PlayerActionPacket &&
-      ((PlayerActionPacket) packet).action ==
-      PlayerActionPacket.ACTION_START_BREAK
+      packet.transactionType == InventoryTransactionPacket.TYPE_USE_ITEM &&
+      packet.transactionData instanceof UseItemData
     ) {
-      if (handleAction(event.getPlayer())) {
-        return;
-      }
-    }
+      handleAction(event.getPlayer());
 
-    if (!(packet instanceof InventoryTransactionPacket)) {
       return;
     }
 
-    InventoryTransactionPacket inventoryPacket = (InventoryTransactionPacket) packet;
-
     if (
-      inventoryPacket.transactionType !=
-      InventoryTransactionPacket.TYPE_USE_ITEM ||
-      !(inventoryPacket.transactionData instanceof UseItemData)
+      packet.transactionType ==
+      InventoryTransactionPacket.TYPE_USE_ITEM_ON_ENTITY
     ) {
-      return;
+      onDamageInteract(event, packet);
     }
-
-    handleAction(event.getPlayer());
   }
 
-  @EventHandler(priority = EventPriority.NORMAL)
-  public void onDamageInteract(DataPacketReceiveEvent event) {
-    DataPacket packet = event.getPacket();
-
-    if (packet.pid() != ProtocolInfo.INVENTORY_TRANSACTION_PACKET) {
-      return;
-    }
-
-    if (!(packet instanceof InventoryTransactionPacket)) {
-      return;
-    }
-
+  private void onDamageInteract(
+    DataPacketReceiveEvent event,
+    InventoryTransactionPacket inventoryPacket
+  ) {
     Player player = event.getPlayer();
     Level level = player.getLevel();
 
@@ -87,15 +81,6 @@ public class InteractiveListener extends CustomItemListener {
       return;
     }
 
-    InventoryTransactionPacket inventoryPacket = (InventoryTransactionPacket) packet;
-
-    if (
-      inventoryPacket.transactionType !=
-      InventoryTransactionPacket.TYPE_USE_ITEM_ON_ENTITY
-    ) {
-      return;
-    }
-
     TransactionData data = inventoryPacket.transactionData;
 
     if (!(data instanceof UseItemOnEntityData)) {
@@ -112,23 +97,11 @@ public class InteractiveListener extends CustomItemListener {
 
     Item item = player.getInventory().getItemInHand();
 
-    if (item == null || item.getCustomBlockData() == null) {
-      return;
-    }
-
-    String uuid = item.getCustomBlockData().getString("customItem");
-
-    if (uuid == null) {
-      return;
-    }
-
-    CustomItem customItem = CustomItemFactory.get(uuid);
+    CustomItem customItem = CustomItemFactory.resolve(item);
 
     if (
       customItem == null ||
-      user.getLocalStorage().getLong("item") +
-      500 >=
-      TimeUtils.getTimestampMilli()
+      !game.getCooldownService().tryAcquire(user, customItem.getCooldown())
     ) {
       return;
     }
@@ -137,8 +110,6 @@ public class InteractiveListener extends CustomItemListener {
       user.playSound(customItem.getSound());
     }
 
-    user.getLocalStorage().set("item", TimeUtils.getTimestampMilli());
-
     if (
       useItemOnEntityData.actionType ==
       InventoryTransactionPacket.USE_ITEM_ON_ENTITY_ACTION_INTERACT
@@ -16,39 +16,137 @@
 
 package net.josscoder.gameapi.map;
 
+import cn.nukkit.level.Level;
 import cn.nukkit.math.Vector3;
 import java.util.*;
 import lombok.Getter;
+import lombok.Setter;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.map.backup.PristineChunkCache;
+import net.josscoder.gameapi.map.vote.VoteTally;
 
 public class GameMap extends Map<Game> {
 
   public static String SOLO = "solo";
 
-  @Getter
+  /**
+   * Mirror of the vote tally for subclasses that read it, writing it has no
+   * effect on the vote.
+   *
+   * @deprecated use getVotes() or getVoteTally()
+   */
+  @Deprecated
   protected int votes = 0;
 
+  @Getter
+  protected final VoteTally voteTally = new VoteTally(count -> votes = count);
+
   protected java.util.Map<String, List<Vector3>> spawns;
 
   @Getter
   protected String image = "";
 
+  @Getter
+  @Setter
+  protected boolean liveReset = false;
+
+  @Getter
+  @Setter
+  protected boolean offHeapChunkCache = false;
+
+  @Getter
+  protected PristineChunkCache pristineChunkCache;
+
   public GameMap(Game game, String name, Vector3 safeSpawn) {
     super(game, name, safeSpawn);
     spawns = new HashMap<>();
     spawns.put(SOLO, new LinkedList<>());
   }
 
+  @Override
+  public void prepare(int time) {
+    super.prepare(time);
+
+    if (liveReset && pristineChunkCache == null) {
+      capturePristineChunks();
+    }
+  }
+
+  public void capturePristineChunks() {
+    Level level = toLevel();
+
+    if (!PristineChunkCache.isSupported(level)) {
+      return;
+    }
+
+    PristineChunkCache cache = new PristineChunkCache(offHeapChunkCache);
+
+    if (cornerOne != null && cornerTwo != null) {
+      cache.capture(
+        level,
+        (int) Math.min(cornerOne.x, cornerTwo.x) >> 4,
+        (int) Math.min(cornerOne.z, cornerTwo.z) >> 4,
+        (int) Math.max(cornerOne.x, cornerTwo.x) >> 4,
+        (int) Math.max(cornerOne.z, cornerTwo.z) >> 4
+      );
+    } else {
+      cache.capture(level);
+    }
+
+    pristineChunkCache = cache;
+  }
+
+  public boolean canResetLive() {
+    return (
+      pristineChunkCache != null &&
+      !pristineChunkCache.isEmpty() &&
+      game.getServer().isLevelLoaded(name)
+    );
+  }
+
+  /**
+   * Tells whether a reset can happen on the running server, through the
+   * block journal or the pristine chunk cache.
+   */
+  public boolean canResetInPlace() {
+    return canRollback() || canResetLive();
+  }
+
+  public int restorePristineChunks() {
+    if (!canResetLive()) {
+      return 0;
+    }
+
+    return pristineChunkCache.restore(toLevel());
+  }
+
+  public int getVotes() {
+    return voteTally.get();
+  }
+
+  /**
+   * @deprecated votes are counted by the map vote engine, vote through
+   * GameMapManager so the voter is recorded too
+   */
+  @Deprecated
   public void addVote() {
-    votes += 1;
+    voteTally.increment();
   }
 
+  /**
+   * @deprecated vote through GameMapManager
+   */
+  @Deprecated
   public void removeVote() {
-    votes = Math.max((votes - 1), 0);
+    voteTally.decrement();
   }
 
+  /**
+   * @deprecated use GameMapManager.resetVotes()
+   */
+  @Deprecated
   public void resetVotes() {
-    votes = 0;
+    voteTally.reset();
   }
 
   public Vector3 getSpawn(int index) {
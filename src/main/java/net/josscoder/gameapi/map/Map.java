@@ -19,18 +19,32 @@ package net.josscoder.gameapi.map;
 import cn.nukkit.Player;
 import cn.nukkit.Server;
 import cn.nukkit.block.Block;
+import cn.nukkit.event.Event;
 import cn.nukkit.event.EventHandler;
-import cn.nukkit.event.EventPriority;
 import cn.nukkit.event.block.BlockPlaceEvent;
 import cn.nukkit.event.player.PlayerMoveEvent;
 import cn.nukkit.level.Level;
+import cn.nukkit.level.Location;
 import cn.nukkit.level.Position;
+import cn.nukkit.math.BlockFace;
+import cn.nukkit.math.NukkitMath;
 import cn.nukkit.math.Vector3;
+import cn.nukkit.plugin.MethodEventExecutor;
+import cn.nukkit.plugin.PluginManager;
 import cn.nukkit.utils.TextFormat;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.josscoder.gameapi.Game;
 import net.josscoder.gameapi.listener.GameListener;
+import net.josscoder.gameapi.map.region.Region;
+import net.josscoder.gameapi.map.region.RegionIndex;
+import net.josscoder.gameapi.map.region.event.RegionEnterEvent;
+import net.josscoder.gameapi.map.region.event.RegionExitEvent;
+import net.josscoder.gameapi.map.rollback.BlockJournal;
 import net.josscoder.gameapi.user.event.PlayerRequestToLoseEvent;
 import net.josscoder.gameapi.util.Utils;
 
@@ -52,6 +66,36 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
 
   protected int defaultTime = Level.TIME_DAY;
 
+  protected boolean rollbackEnabled = false;
+
+  protected final BlockJournal blockJournal = new BlockJournal();
+
+  protected final RegionIndex regionIndex = new RegionIndex();
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean bounded = false;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int minX;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int maxX;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int minZ;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int maxZ;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Level cachedLevel;
+
   public Map(T game, String name, Vector3 safeSpawn) {
     this(game, name, safeSpawn, null, null);
   }
@@ -69,11 +113,107 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
     this.cornerOne = cornerOne;
     this.cornerTwo = cornerTwo;
 
-    game.registerListener(this);
+    updateBounds();
+
+    game.getMapRegistry().register(this);
+
+    registerDeclaredHandlers();
   }
 
+  /**
+   * Registers the @EventHandler methods declared by subclasses one by one.
+   * Overrides of methods the map listener already routes (onMove,
+   * onBlockPlace) are skipped, so no event reaches the map twice.
+   */
+  @SuppressWarnings("unchecked")
+  private void registerDeclaredHandlers() {
+    PluginManager pluginManager = game.getServer().getPluginManager();
+
+    Set<String> seen = new HashSet<>();
+
+    for (
+      Class<?> current = getClass();
+      current != null && current != Map.class;
+      current = current.getSuperclass()
+    ) {
+      for (Method method : current.getDeclaredMethods()) {
+        EventHandler handler = method.getAnnotation(EventHandler.class);
+
+        if (
+          handler == null ||
+          method.isBridge() ||
+          method.getParameterCount() != 1 ||
+          !Event.class.isAssignableFrom(method.getParameterTypes()[0]) ||
+          isRoutedByMapListener(method) ||
+          !seen.add(method.getName() + method.getParameterTypes()[0].getName())
+        ) {
+          continue;
+        }
+
+        method.setAccessible(true);
+
+        pluginManager.registerEvent(
+          (Class<? extends Event>) method.getParameterTypes()[0],
+          this,
+          handler.priority(),
+          new MethodEventExecutor(method),
+          game,
+          handler.ignoreCancelled()
+        );
+      }
+    }
+  }
+
+  private static boolean isRoutedByMapListener(Method method) {
+    try {
+      Map.class.getMethod(method.getName(), method.getParameterTypes());
+
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The level is looked up by name once and kept until it gets unloaded,
+   * an unloaded level has no provider anymore.
+   */
   public Level toLevel() {
-    return game.getServer().getLevelByName(name);
+    Level cached = cachedLevel;
+
+    if (cached != null && cached.getProvider() != null) {
+      return cached;
+    }
+
+    return cachedLevel = game.getServer().getLevelByName(name);
+  }
+
+  public void setCornerOne(Vector3 cornerOne) {
+    this.cornerOne = cornerOne;
+
+    updateBounds();
+  }
+
+  public void setCornerTwo(Vector3 cornerTwo) {
+    this.cornerTwo = cornerTwo;
+
+    updateBounds();
+  }
+
+  private void updateBounds() {
+    bounded = cornerOne != null && cornerTwo != null;
+
+    if (!bounded) {
+      return;
+    }
+
+    //Floored like the player position, a cast would round negative
+    //corners towards zero
+    minX = NukkitMath.floorDouble(Math.min(cornerOne.x, cornerTwo.x));
+    maxX = NukkitMath.floorDouble(Math.max(cornerOne.x, cornerTwo.x));
+
+    minZ = NukkitMath.floorDouble(Math.min(cornerOne.z, cornerTwo.z));
+    maxZ = NukkitMath.floorDouble(Math.max(cornerOne.z, cornerTwo.z));
   }
 
   public void handle() {
@@ -118,21 +258,16 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
   }
 
   public boolean isSafeZone(Vector3 vector3) {
-    if (cornerOne == null || cornerTwo == null) {
-      return true;
-    }
-
-    int minX = (int) Math.min(cornerOne.x, cornerTwo.x);
-    int maxX = (int) Math.max(cornerOne.x, cornerTwo.x);
-
-    int minZ = (int) Math.min(cornerOne.z, cornerTwo.z);
-    int maxZ = (int) Math.max(cornerOne.z, cornerTwo.z);
+    return isSafeZone(vector3.getFloorX(), vector3.getFloorZ());
+  }
 
+  /**
+   * Works on block coordinates, so the whole block at each corner is still
+   * part of the safe zone.
+   */
+  public boolean isSafeZone(int x, int z) {
     return (
-      minX <= vector3.x &&
-      maxX >= vector3.x &&
-      minZ <= vector3.z &&
-      maxZ >= vector3.z
+      !bounded || (minX <= x && maxX >= x && minZ <= z && maxZ >= z)
     );
   }
 
@@ -141,7 +276,9 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
   }
 
   public boolean isThisLevel(Level level) {
-    return (toLevel() != null && level.getName().equals(toLevel().getName()));
+    Level own = toLevel();
+
+    return own != null && level != null && own.getId() == level.getId();
   }
 
   private void broadcastAlert(Player player, String message) {
@@ -149,7 +286,10 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
     player.sendMessage(TextFormat.colorize("&c&l»&r&c ") + message);
   }
 
-  @EventHandler(priority = EventPriority.NORMAL)
+  /**
+   * Called by the map listener for moves on this map's level, maps are not
+   * registered as listeners themselves.
+   */
   public void onMove(PlayerMoveEvent event) {
     Player player = event.getPlayer();
 
@@ -157,7 +297,28 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
       return;
     }
 
-    if (!isSafeZone(player.asVector3f().asVector3())) {
+    Location from = event.getFrom();
+    Location to = event.getTo();
+
+    int x = to.getFloorX();
+    int z = to.getFloorZ();
+
+    boolean crossedBlock =
+      x != from.getFloorX() ||
+      z != from.getFloorZ() ||
+      to.getFloorY() != from.getFloorY();
+
+    if (
+      crossedBlock &&
+      !regionIndex.isEmpty() &&
+      !handleRegions(player, from, to)
+    ) {
+      event.setTo(from);
+
+      return;
+    }
+
+    if (crossedBlock && !isSafeZone(x, z)) {
       event.setTo(event.getFrom());
 
       broadcastAlert(player, "You can't cross the border!");
@@ -172,7 +333,7 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
       return;
     }
 
-    if (player.y <= minY) {
+    if (to.y <= minY) {
       game.callEvent(
         new PlayerRequestToLoseEvent(
           player,
@@ -182,7 +343,68 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
     }
   }
 
-  @EventHandler(priority = EventPriority.NORMAL)
+  public void addRegion(Region region) {
+    regionIndex.add(region);
+  }
+
+  public boolean removeRegion(Region region) {
+    return regionIndex.remove(region);
+  }
+
+  public Region getRegionAt(Vector3 vector3) {
+    return regionIndex.getRegionAt(
+      vector3.getFloorX(),
+      vector3.getFloorY(),
+      vector3.getFloorZ()
+    );
+  }
+
+  /**
+   * Fires exit and enter events for the regions whose membership changed
+   * between both positions, returns false if any of them was cancelled.
+   */
+  private boolean handleRegions(Player player, Location from, Location to) {
+    int fromX = from.getFloorX();
+    int fromY = from.getFloorY();
+    int fromZ = from.getFloorZ();
+
+    int toX = to.getFloorX();
+    int toY = to.getFloorY();
+    int toZ = to.getFloorZ();
+
+    boolean allowed = true;
+
+    for (Region region : regionIndex.getCandidates(fromX, fromZ)) {
+      if (
+        region.contains(fromX, fromY, fromZ) &&
+        !region.contains(toX, toY, toZ)
+      ) {
+        RegionExitEvent exitEvent = new RegionExitEvent(player, this, region);
+        game.callEvent(exitEvent);
+
+        allowed &= !exitEvent.isCancelled();
+      }
+    }
+
+    for (Region region : regionIndex.getCandidates(toX, toZ)) {
+      if (
+        region.contains(toX, toY, toZ) &&
+        !region.contains(fromX, fromY, fromZ)
+      ) {
+        RegionEnterEvent enterEvent = new RegionEnterEvent(
+          player,
+          this,
+          region
+        );
+        game.callEvent(enterEvent);
+
+        allowed &= !enterEvent.isCancelled();
+      }
+    }
+
+    return allowed;
+  }
+
   public void onBlockPlace(BlockPlaceEvent event) {
     Player player = event.getPlayer();
 
@@ -200,4 +422,56 @@ public abstract class Map<T extends Game> extends GameListener<Game> {
 
     event.setCancelled();
   }
+
+  public boolean canRollback() {
+    return (
+      rollbackEnabled &&
+      !blockJournal.isEmpty() &&
+      game.getServer().isLevelLoaded(name)
+    );
+  }
+
+  public int rollback() {
+    if (!canRollback()) {
+      return 0;
+    }
+
+    return blockJournal.rollback(toLevel());
+  }
+
+  /**
+   * Records the block together with its six neighbours, which covers the
+   * other half of doors, beds and double plants and anything attached to
+   * the block that drops with it. Chained changes further away (a cactus
+   * column, a tower of falling sand) are not tracked, games relying on
+   * those should reset through the pristine chunk cache instead.
+   */
+  public void journal(Block block) {
+    Level level = block.getLevel();
+
+    if (!rollbackEnabled || !isThisLevel(level)) {
+      return;
+    }
+
+    int x = block.getFloorX();
+    int y = block.getFloorY();
+    int z = block.getFloorZ();
+
+    blockJournal.record(level, x, y, z);
+
+    for (BlockFace face : BlockFace.values()) {
+      int sideY = y + face.getYOffset();
+
+      if (sideY < 0 || sideY > 255) {
+        continue;
+      }
+
+      blockJournal.record(
+        level,
+        x + face.getXOffset(),
+        sideY,
+        z + face.getZOffset()
+      );
+    }
+  }
 }
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.backup;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.*;
+import lombok.Getter;
+import net.josscoder.gameapi.scheduler.NamedThreadFactory;
+
+public class MapBackupEngine {
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(
+    () -> new byte[BUFFER_SIZE]
+  );
+
+  @Getter
+  private final ExecutorService executor;
+
+  private final int readWindow;
+
+  public MapBackupEngine() {
+    this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+  }
+
+  public MapBackupEngine(int threads) {
+    readWindow = threads * 2;
+    executor =
+      Executors.newFixedThreadPool(
+        threads,
+        new NamedThreadFactory("GameAPI-MapBackup")
+      );
+  }
+
+  /**
+   * Region and leveldb files are already compressed by the server,
+   * deflating them again only burns CPU, so they are stored as-is.
+   */
+  private static boolean isCompressed(String fileName) {
+    return (
+      fileName.endsWith(".mca") ||
+      fileName.endsWith(".mcr") ||
+      fileName.endsWith(".ldb")
+    );
+  }
+
+  /**
+   * Files are read ahead on the pool, at most readWindow of them at once so
+   * the heap never holds more than that many files. Entries are still
+   * deflated and written one by one, a zip stream has a single writer.
+   */
+  public void compress(File folder, File destZipFile) throws IOException {
+    if (!folder.exists()) {
+      return;
+    }
+
+    Path root = folder.toPath();
+    Path parent = root.getParent();
+
+    List<Path> files = listFiles(root);
+    Deque<Future<PreparedEntry>> entries = new ArrayDeque<>(readWindow);
+
+    int next = 0;
+
+    try (
+      ZipOutputStream zos = new ZipOutputStream(
+        new BufferedOutputStream(
+          new FileOutputStream(destZipFile),
+          BUFFER_SIZE
+        )
+      )
+    ) {
+      zos.setLevel(Deflater.BEST_SPEED);
+
+      while (next < files.size() || !entries.isEmpty()) {
+        while (next < files.size() && entries.size() < readWindow) {
+          Path file = files.get(next++);
+          String entryName = parent
+            .relativize(file)
+            .toString()
+            .replace('\\', '/');
+
+          entries.add(executor.submit(() -> prepareEntry(file, entryName)));
+        }
+
+        PreparedEntry prepared = await(entries.poll());
+
+        zos.putNextEntry(prepared.entry);
+        zos.write(prepared.data);
+        zos.closeEntry();
+      }
+    } finally {
+      //Reads still in flight after a failure would keep their buffers
+      entries.forEach(entry -> entry.cancel(true));
+    }
+  }
+
+  private PreparedEntry prepareEntry(Path file, String entryName)
+    throws IOException {
+    byte[] data = Files.readAllBytes(file);
+
+    ZipEntry entry = new ZipEntry(entryName);
+
+    if (isCompressed(entryName)) {
+      CRC32 crc = new CRC32();
+      crc.update(data, 0, data.length);
+
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(data.length);
+      entry.setCompressedSize(data.length);
+      entry.setCrc(crc.getValue());
+    }
+
+    return new PreparedEntry(entry, data);
+  }
+
+  public void extract(File zipFile, File destDirectory) throws IOException {
+    if (!destDirectory.exists()) {
+      destDirectory.mkdirs();
+    }
+
+    String destPath = destDirectory.getCanonicalPath() + File.separator;
+
+    try (ZipFile zip = new ZipFile(zipFile)) {
+      List<Future<?>> tasks = new ArrayList<>();
+
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+
+        File file = new File(destDirectory, entry.getName());
+
+        if (!file.getCanonicalPath().startsWith(destPath)) {
+          throw new IOException("Entry outside of target dir: " + entry);
+        }
+
+        if (entry.isDirectory()) {
+          file.mkdirs();
+
+          continue;
+        }
+
+        tasks.add(
+          executor.submit(
+            () -> {
+              extractEntry(zip, entry, file);
+
+              return null;
+            }
+          )
+        );
+      }
+
+      for (Future<?> task : tasks) {
+        await(task);
+      }
+    }
+  }
+
+  private void extractEntry(ZipFile zip, ZipEntry entry, File file)
+    throws IOException {
+    file.getParentFile().mkdirs();
+
+    try (
+      InputStream in = zip.getInputStream(entry);
+      OutputStream out = new FileOutputStream(file)
+    ) {
+      byte[] buffer = BUFFER.get();
+      int read;
+
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+  }
+
+  public void storeSnapshot(File world, File template) throws IOException {
+    if (!world.exists()) {
+      return;
+    }
+
+    deleteDirectory(template);
+
+    Path from = world.toPath();
+    Path to = template.toPath();
+
+    List<Path> files = listFiles(from);
+    List<Future<?>> tasks = new ArrayList<>(files.size());
+
+    for (Path file : files) {
+      Path target = to.resolve(from.relativize(file));
+
+      tasks.add(
+        executor.submit(
+          () -> {
+            copyFile(file, target);
+            target.toFile().setReadOnly();
+
+            return null;
+          }
+        )
+      );
+    }
+
+    for (Future<?> task : tasks) {
+      await(task);
+    }
+  }
+
+  /**
+   * Restores only the files whose size or modification time drifted from
+   * the template, and drops files the template does not know about.
+   * Restored files get the template mtime, so the next comparison needs no
+   * extra bookkeeping.
+   */
+  public int restoreSnapshot(File template, File world) throws IOException {
+    Path from = template.toPath();
+    Path to = world.toPath();
+
+    List<Path> files = listFiles(from);
+    Set<Path> known = new HashSet<>(files.size());
+    List<Future<?>> tasks = new ArrayList<>();
+
+    for (Path file : files) {
+      Path relative = from.relativize(file);
+      Path target = to.resolve(relative);
+
+      known.add(relative);
+
+      if (isUnchanged(file, target)) {
+        continue;
+      }
+
+      tasks.add(
+        executor.submit(
+          () -> {
+            copyFile(file, target);
+
+            return null;
+          }
+        )
+      );
+    }
+
+    if (world.exists()) {
+      for (Path file : listFiles(to)) {
+        if (!known.contains(to.relativize(file))) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+
+    for (Future<?> task : tasks) {
+      await(task);
+    }
+
+    return tasks.size();
+  }
+
+  private static boolean isUnchanged(Path source, Path target)
+    throws IOException {
+    if (!Files.exists(target)) {
+      return false;
+    }
+
+    BasicFileAttributes sourceAttributes = Files.readAttributes(
+      source,
+      BasicFileAttributes.class
+    );
+    BasicFileAttributes targetAttributes = Files.readAttributes(
+      target,
+      BasicFileAttributes.class
+    );
+
+    return (
+      sourceAttributes.size() == targetAttributes.size() &&
+      sourceAttributes
+        .lastModifiedTime()
+        .equals(targetAttributes.lastModifiedTime())
+    );
+  }
+
+  private static void copyFile(Path source, Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+
+    if (Files.exists(target)) {
+      target.toFile().setWritable(true);
+    }
+
+    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    target.toFile().setWritable(true);
+
+    FileTime lastModified = Files.getLastModifiedTime(source);
+    Files.setLastModifiedTime(target, lastModified);
+  }
+
+  public void deleteSnapshot(File template) throws IOException {
+    deleteDirectory(template);
+  }
+
+  private static List<Path> listFiles(Path root) throws IOException {
+    if (!Files.exists(root)) {
+      return new ArrayList<>();
+    }
+
+    try (Stream<Path> stream = Files.walk(root)) {
+      return stream.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  private static void deleteDirectory(File directory) throws IOException {
+    if (!directory.exists()) {
+      return;
+    }
+
+    List<Path> paths;
+
+    try (Stream<Path> stream = Files.walk(directory.toPath())) {
+      paths =
+        stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+    }
+
+    for (Path path : paths) {
+      path.toFile().setWritable(true);
+      Files.delete(path);
+    }
+  }
+
+  private static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+
+      throw new IOException(cause);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private static class PreparedEntry {
+
+    private final ZipEntry entry;
+    private final byte[] data;
+
+    private PreparedEntry(ZipEntry entry, byte[] data) {
+      this.entry = entry;
+      this.data = data;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.backup;
+
+import cn.nukkit.Player;
+import cn.nukkit.blockentity.BlockEntity;
+import cn.nukkit.level.Level;
+import cn.nukkit.level.format.FullChunk;
+import cn.nukkit.level.format.LevelProvider;
+import cn.nukkit.level.format.anvil.Anvil;
+import cn.nukkit.level.format.anvil.Chunk;
+import cn.nukkit.level.format.generic.BaseFullChunk;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+public class PristineChunkCache {
+
+  private final Map<Long, ByteBuffer> chunks = new HashMap<>();
+
+  @Getter
+  private final boolean offHeap;
+
+  @Getter
+  private long sizeInBytes = 0;
+
+  public PristineChunkCache() {
+    this(false);
+  }
+
+  public PristineChunkCache(boolean offHeap) {
+    this.offHeap = offHeap;
+  }
+
+  public static boolean isSupported(Level level) {
+    return level != null && level.getProvider() instanceof Anvil;
+  }
+
+  public int size() {
+    return chunks.size();
+  }
+
+  public boolean isEmpty() {
+    return chunks.isEmpty();
+  }
+
+  public void clear() {
+    chunks.clear();
+    sizeInBytes = 0;
+  }
+
+  /**
+   * Captures every loaded chunk of the level. Autosave is turned off so the
+   * on-disk copy stays pristine and chunks dropped from memory come back
+   * untouched.
+   */
+  public int capture(Level level) {
+    if (!isSupported(level)) {
+      return 0;
+    }
+
+    level.setAutoSave(false);
+
+    List<FullChunk> loadedChunks = new ArrayList<>(
+      level.getChunks().values()
+    );
+
+    loadedChunks.forEach(this::capture);
+
+    return loadedChunks.size();
+  }
+
+  public int capture(
+    Level level,
+    int minChunkX,
+    int minChunkZ,
+    int maxChunkX,
+    int maxChunkZ
+  ) {
+    if (!isSupported(level)) {
+      return 0;
+    }
+
+    level.setAutoSave(false);
+
+    int captured = 0;
+
+    for (int x = minChunkX; x <= maxChunkX; x++) {
+      for (int z = minChunkZ; z <= maxChunkZ; z++) {
+        FullChunk chunk = level.getChunk(x, z, true);
+
+        if (chunk != null) {
+          capture(chunk);
+          captured++;
+        }
+      }
+    }
+
+    return captured;
+  }
+
+  private void capture(FullChunk chunk) {
+    byte[] data = chunk.toBinary();
+
+    ByteBuffer buffer = offHeap
+      ? ByteBuffer.allocateDirect(data.length)
+      : ByteBuffer.wrap(data);
+
+    if (offHeap) {
+      buffer.put(data).flip();
+    }
+
+    ByteBuffer previous = chunks.put(
+      Level.chunkHash(chunk.getX(), chunk.getZ()),
+      buffer
+    );
+
+    if (previous != null) {
+      sizeInBytes -= previous.capacity();
+    }
+
+    sizeInBytes += data.length;
+
+    chunk.setChanged(false);
+  }
+
+  /**
+   * Swaps every modified chunk back to its captured state on the live level.
+   * Must run on the main thread.
+   */
+  public int restore(Level level) {
+    if (!isSupported(level)) {
+      return 0;
+    }
+
+    LevelProvider provider = level.getProvider();
+
+    int restored = 0;
+
+    for (Map.Entry<Long, ByteBuffer> entry : chunks.entrySet()) {
+      long hash = entry.getKey();
+
+      int chunkX = Level.getHashX(hash);
+      int chunkZ = Level.getHashZ(hash);
+
+      FullChunk current = level.getChunk(chunkX, chunkZ, false);
+
+      if (current == null || !current.hasChanged()) {
+        continue;
+      }
+
+      BaseFullChunk chunk = Chunk.fromBinary(
+        toArray(entry.getValue()),
+        provider
+      );
+
+      if (chunk == null) {
+        continue;
+      }
+
+      closeMatchLeftovers(current);
+
+      level.setChunk(chunkX, chunkZ, chunk, false);
+      chunk.initChunk();
+      chunk.setChanged(false);
+
+      restored++;
+    }
+
+    return restored;
+  }
+
+  /**
+   * setChunk carries the old entities and block entities over to the new
+   * chunk, the restored one brings its own block entities and the match
+   * leftovers (drops, arrows, mobs) must not survive. Players are kept.
+   */
+  private static void closeMatchLeftovers(FullChunk chunk) {
+    new ArrayList<>(chunk.getBlockEntities().values())
+      .forEach(BlockEntity::close);
+
+    new ArrayList<>(chunk.getEntities().values())
+      .forEach(
+        entity -> {
+          if (!(entity instanceof Player)) {
+            entity.close();
+          }
+        }
+      );
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return buffer.array();
+    }
+
+    byte[] data = new byte[buffer.remaining()];
+    buffer.duplicate().get(data);
+
+    return data;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.listener;
+
+import cn.nukkit.event.EventHandler;
+import cn.nukkit.event.EventPriority;
+import cn.nukkit.event.block.*;
+import cn.nukkit.event.entity.EntityBlockChangeEvent;
+import cn.nukkit.event.entity.EntityExplodeEvent;
+import cn.nukkit.event.level.LevelUnloadEvent;
+import cn.nukkit.event.player.PlayerMoveEvent;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.listener.GameListener;
+import net.josscoder.gameapi.map.manager.MapRegistry;
+
+public class MapListener extends GameListener<Game> {
+
+  private final MapRegistry mapRegistry;
+
+  public MapListener(Game game) {
+    super(game);
+    this.mapRegistry = game.getMapRegistry();
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onLevelUnload(LevelUnloadEvent event) {
+    mapRegistry.forgetLevel(event.getLevel());
+  }
+
+  @EventHandler(priority = EventPriority.NORMAL)
+  public void onMove(PlayerMoveEvent event) {
+    mapRegistry.forEachMap(
+      event.getPlayer().getLevel(),
+      map -> map.onMove(event)
+    );
+  }
+
+  @EventHandler(priority = EventPriority.NORMAL)
+  public void onBlockPlace(BlockPlaceEvent event) {
+    mapRegistry.forEachMap(
+      event.getPlayer().getLevel(),
+      map -> map.onBlockPlace(event)
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalBlockPlace(BlockPlaceEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> map.journal(event.getBlock())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalBlockBreak(BlockBreakEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> map.journal(event.getBlock())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalBlockBurn(BlockBurnEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> map.journal(event.getBlock())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalBlockFade(BlockFadeEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> map.journal(event.getBlock())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalBlockForm(BlockFormEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> map.journal(event.getBlock())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalLiquidFlow(LiquidFlowEvent event) {
+    mapRegistry.forEachMap(
+      event.getTo().getLevel(),
+      map -> map.journal(event.getTo())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalPiston(BlockPistonEvent event) {
+    mapRegistry.forEachMap(
+      event.getBlock().getLevel(),
+      map -> {
+        map.journal(event.getBlock());
+        event.getBlocks().forEach(map::journal);
+        event.getDestroyedBlocks().forEach(map::journal);
+      }
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalEntityBlockChange(EntityBlockChangeEvent event) {
+    mapRegistry.forEachMap(
+      event.getFrom().getLevel(),
+      map -> map.journal(event.getFrom())
+    );
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onJournalEntityExplode(EntityExplodeEvent event) {
+    mapRegistry.forEachMap(
+      event.getPosition().getLevel(),
+      map -> event.getBlockList().forEach(map::journal)
+    );
+  }
+}
@@ -17,11 +17,15 @@
 package net.josscoder.gameapi.map.manager;
 
 import cn.nukkit.Player;
+import cn.nukkit.event.HandlerList;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.josscoder.gameapi.Game;
 import net.josscoder.gameapi.map.GameMap;
+import net.josscoder.gameapi.map.vote.MapVoteEngine;
 
 @Getter
 @Setter
@@ -33,13 +37,21 @@ public class GameMapManager {
 
   private Map<String, GameMap> maps;
 
-  private final Map<Player, String> voters;
+  private final MapVoteEngine voteEngine;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<Player, String> playerVotes = new ConcurrentHashMap<>();
+
+  @Getter(AccessLevel.NONE)
+  private final Map<Player, String> votersView = Collections.unmodifiableMap(
+    playerVotes
+  );
 
   public GameMapManager(Game game) {
     this.game = game;
 
     maps = new HashMap<>();
-    voters = new HashMap<>();
+    voteEngine = new MapVoteEngine();
   }
 
   public int mapsSize() {
@@ -56,57 +68,83 @@ public class GameMapManager {
 
   public void addMap(GameMap gameMap) {
     maps.put(gameMap.getName(), gameMap);
+    voteEngine.addMap(gameMap);
+    dropVotesFor(gameMap.getName());
   }
 
   public void removeMap(String mapName) {
-    maps.remove(mapName);
+    GameMap map = maps.remove(mapName);
+
+    if (map != null) {
+      game.getMapRegistry().unregister(map);
+      HandlerList.unregisterAll(map);
+    }
+
+    voteEngine.removeMap(mapName);
+    dropVotesFor(mapName);
   }
 
-  public boolean hasVoted(Player player, String mapName) {
-    String mapVoted = voters.get(player);
+  /**
+   * Players and the name of the map they voted for, a live read only view
+   * kept in step with the vote engine.
+   */
+  public Map<Player, String> getVoters() {
+    return votersView;
+  }
 
-    return (mapVoted != null && mapVoted.equalsIgnoreCase(mapName));
+  public Map<UUID, String> getVoterIds() {
+    return voteEngine.getVoters();
+  }
+
+  public boolean hasVoted(Player player, String mapName) {
+    return voteEngine.hasVoted(player.getUniqueId(), mapName);
   }
 
   public boolean hasVoted(Player player) {
-    return voters.containsKey(player);
+    return voteEngine.hasVoted(player.getUniqueId());
   }
 
   public void ifHasVotedRemoveAndVoteFor(String mapName, Player player) {
-    removeVoteIfHasVoted(player);
     addVote(mapName, player);
   }
 
   public void removeVoteIfHasVoted(Player player) {
-    if (hasVoted(player)) {
-      removeVote(voters.get(player), player);
+    if (voteEngine.removeVote(player.getUniqueId())) {
+      playerVotes.remove(player);
     }
   }
 
   public void addVote(String mapName, Player player) {
-    GameMap gameMap = getMap(mapName);
-
-    if (gameMap == null) {
-      return;
+    if (voteEngine.vote(player.getUniqueId(), mapName)) {
+      playerVotes.put(player, voteEngine.getVote(player.getUniqueId()));
     }
-
-    gameMap.addVote();
-    voters.put(player, mapName);
   }
 
   public void removeVote(String mapName, Player player) {
-    if (!hasVoted(player)) {
-      return;
+    if (hasVoted(player, mapName)) {
+      removeVoteIfHasVoted(player);
     }
+  }
 
-    GameMap gameMap = getMap(mapName);
+  private void dropVotesFor(String mapName) {
+    playerVotes.values().removeIf(mapName::equalsIgnoreCase);
+  }
 
-    if (gameMap == null) {
-      return;
+  /**
+   * Freezing keeps the winner from changing once voting ended, even if
+   * voters leave afterwards.
+   */
+  public void setVotingFrozen(boolean frozen) {
+    if (frozen) {
+      voteEngine.freeze();
+    } else {
+      voteEngine.unfreeze();
     }
+  }
 
-    gameMap.removeVote();
-    voters.remove(player);
+  public void resetVotes() {
+    voteEngine.reset();
+    playerVotes.clear();
   }
 
   public GameMap getMapWinner() {
@@ -114,24 +152,6 @@ public class GameMapManager {
       return mainMap;
     }
 
-    if (mapsSize() <= 0) {
-      return null;
-    }
-
-    Map<String, Integer> availableMaps = new HashMap<>();
-
-    maps
-      .values()
-      .forEach(map -> availableMaps.put(map.getName(), map.getVotes()));
-
-    if (availableMaps.size() == 0) {
-      return null;
-    }
-
-    return getMap(
-      Collections
-        .max(availableMaps.entrySet(), Map.Entry.comparingByValue())
-        .getKey()
-    );
+    return voteEngine.getWinner();
   }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.manager;
+
+import cn.nukkit.level.Level;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import net.josscoder.gameapi.map.Map;
+
+public class MapRegistry {
+
+  private static final Map<?>[] EMPTY = new Map<?>[0];
+
+  private final ConcurrentHashMap<String, Map<?>[]> mapsByName =
+    new ConcurrentHashMap<>();
+
+  private final ConcurrentHashMap<Integer, Map<?>[]> mapsByLevelId =
+    new ConcurrentHashMap<>();
+
+  private static String key(String levelName) {
+    return levelName.toLowerCase(Locale.ROOT);
+  }
+
+  public synchronized void register(Map<?> map) {
+    String key = key(map.getName());
+
+    Map<?>[] current = mapsByName.getOrDefault(key, EMPTY);
+
+    Map<?>[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = map;
+
+    mapsByName.put(key, updated);
+    mapsByLevelId.clear();
+  }
+
+  public synchronized void unregister(Map<?> map) {
+    String key = key(map.getName());
+
+    Map<?>[] updated = Arrays
+      .stream(mapsByName.getOrDefault(key, EMPTY))
+      .filter(registered -> registered != map)
+      .toArray(Map<?>[]::new);
+
+    if (updated.length == 0) {
+      mapsByName.remove(key);
+    } else {
+      mapsByName.put(key, updated);
+    }
+
+    mapsByLevelId.clear();
+  }
+
+  /**
+   * Drops the cached maps of an unloaded level, its id is not reused for
+   * the same folder when the level loads again.
+   */
+  public void forgetLevel(Level level) {
+    mapsByLevelId.remove(level.getId());
+  }
+
+  /**
+   * Resolves the maps of a level by its id, the name lookup only runs the
+   * first time a level is seen.
+   */
+  public Map<?>[] getMaps(Level level) {
+    if (level == null) {
+      return EMPTY;
+    }
+
+    Map<?>[] maps = mapsByLevelId.get(level.getId());
+
+    if (maps != null) {
+      return maps;
+    }
+
+    maps = mapsByName.getOrDefault(key(level.getFolderName()), EMPTY);
+
+    mapsByLevelId.put(level.getId(), maps);
+
+    return maps;
+  }
+
+  public void forEachMap(Level level, Consumer<Map<?>> action) {
+    for (Map<?> map : getMaps(level)) {
+      action.accept(map);
+    }
+  }
+
+  public int size() {
+    return mapsByName.values().stream().mapToInt(maps -> maps.length).sum();
+  }
+}
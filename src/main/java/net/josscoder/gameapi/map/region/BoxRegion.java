@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.region;
+
+import cn.nukkit.math.Vector3;
+
+public class BoxRegion extends Region {
+
+  public BoxRegion(String name, Vector3 cornerOne, Vector3 cornerTwo) {
+    this(name, 0, cornerOne, cornerTwo);
+  }
+
+  public BoxRegion(
+    String name,
+    int priority,
+    Vector3 cornerOne,
+    Vector3 cornerTwo
+  ) {
+    super(
+      name,
+      priority,
+      cornerOne.getFloorX(),
+      cornerOne.getFloorY(),
+      cornerOne.getFloorZ(),
+      cornerTwo.getFloorX(),
+      cornerTwo.getFloorY(),
+      cornerTwo.getFloorZ()
+    );
+  }
+
+  @Override
+  protected boolean containsShape(int x, int y, int z) {
+    return true;
+  }
+}
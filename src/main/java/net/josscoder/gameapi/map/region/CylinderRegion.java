@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.region;
+
+import lombok.Getter;
+
+@Getter
+public class CylinderRegion extends Region {
+
+  private final int centerX;
+  private final int centerZ;
+  private final int radius;
+
+  private final long radiusSquared;
+
+  public CylinderRegion(
+    String name,
+    int centerX,
+    int centerZ,
+    int radius,
+    int minY,
+    int maxY
+  ) {
+    this(name, 0, centerX, centerZ, radius, minY, maxY);
+  }
+
+  public CylinderRegion(
+    String name,
+    int priority,
+    int centerX,
+    int centerZ,
+    int radius,
+    int minY,
+    int maxY
+  ) {
+    super(
+      name,
+      priority,
+      centerX - radius,
+      minY,
+      centerZ - radius,
+      centerX + radius,
+      maxY,
+      centerZ + radius
+    );
+    this.centerX = centerX;
+    this.centerZ = centerZ;
+    this.radius = radius;
+    this.radiusSquared = (long) radius * radius;
+  }
+
+  @Override
+  protected boolean containsShape(int x, int y, int z) {
+    long dx = x - centerX;
+    long dz = z - centerZ;
+
+    return dx * dx + dz * dz <= radiusSquared;
+  }
+}
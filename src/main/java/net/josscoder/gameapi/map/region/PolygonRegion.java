@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.region;
+
+import java.util.Arrays;
+
+public class PolygonRegion extends Region {
+
+  private final int[] pointsX;
+  private final int[] pointsZ;
+
+  public PolygonRegion(
+    String name,
+    int[] pointsX,
+    int[] pointsZ,
+    int minY,
+    int maxY
+  ) {
+    this(name, 0, pointsX, pointsZ, minY, maxY);
+  }
+
+  public PolygonRegion(
+    String name,
+    int priority,
+    int[] pointsX,
+    int[] pointsZ,
+    int minY,
+    int maxY
+  ) {
+    super(
+      name,
+      priority,
+      Arrays.stream(pointsX).min().orElse(0),
+      minY,
+      Arrays.stream(pointsZ).min().orElse(0),
+      Arrays.stream(pointsX).max().orElse(0),
+      maxY,
+      Arrays.stream(pointsZ).max().orElse(0)
+    );
+
+    if (pointsX.length != pointsZ.length || pointsX.length < 3) {
+      throw new IllegalArgumentException(
+        "A polygon needs at least 3 points with both coordinates"
+      );
+    }
+
+    this.pointsX = pointsX.clone();
+    this.pointsZ = pointsZ.clone();
+  }
+
+  /**
+   * Even-odd ray casting on the block centers, so edges lying on block
+   * borders resolve the same way every time.
+   */
+  @Override
+  protected boolean containsShape(int x, int y, int z) {
+    double px = x + 0.5;
+    double pz = z + 0.5;
+
+    boolean inside = false;
+
+    for (int i = 0, j = pointsX.length - 1; i < pointsX.length; j = i++) {
+      double zi = pointsZ[i] + 0.5;
+      double zj = pointsZ[j] + 0.5;
+
+      if ((zi > pz) == (zj > pz)) {
+        continue;
+      }
+
+      double xi = pointsX[i] + 0.5;
+      double xj = pointsX[j] + 0.5;
+
+      if (px < (xj - xi) * (pz - zi) / (zj - zi) + xi) {
+        inside = !inside;
+      }
+    }
+
+    return inside;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.region;
+
+import lombok.Getter;
+
+@Getter
+public abstract class Region {
+
+  protected final String name;
+
+  protected final int priority;
+
+  protected final int minX;
+  protected final int minY;
+  protected final int minZ;
+  protected final int maxX;
+  protected final int maxY;
+  protected final int maxZ;
+
+  protected Region(
+    String name,
+    int priority,
+    int minX,
+    int minY,
+    int minZ,
+    int maxX,
+    int maxY,
+    int maxZ
+  ) {
+    this.name = name;
+    this.priority = priority;
+    this.minX = Math.min(minX, maxX);
+    this.minY = Math.min(minY, maxY);
+    this.minZ = Math.min(minZ, maxZ);
+    this.maxX = Math.max(minX, maxX);
+    this.maxY = Math.max(minY, maxY);
+    this.maxZ = Math.max(minZ, maxZ);
+  }
+
+  /**
+   * Block coordinates, the bounding box is checked first so shapes only
+   * run their own test for points that can be inside.
+   */
+  public boolean contains(int x, int y, int z) {
+    return (
+      x >= minX &&
+      x <= maxX &&
+      y >= minY &&
+      y <= maxY &&
+      z >= minZ &&
+      z <= maxZ &&
+      containsShape(x, y, z)
+    );
+  }
+
+  protected abstract boolean containsShape(int x, int y, int z);
+
+  public boolean coversChunk(int chunkX, int chunkZ) {
+    return (
+      chunkX >= minX >> 4 &&
+      chunkX <= maxX >> 4 &&
+      chunkZ >= minZ >> 4 &&
+      chunkZ <= maxZ >> 4
+    );
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.region;
+
+import cn.nukkit.level.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class RegionIndex {
+
+  private static final Region[] EMPTY = new Region[0];
+
+  private static final Comparator<Region> BY_PRIORITY = Comparator
+    .comparingInt(Region::getPriority)
+    .reversed();
+
+  private final List<Region> regions = new ArrayList<>();
+
+  private final Map<Long, Region[]> cells = new HashMap<>();
+
+  public boolean isEmpty() {
+    return regions.isEmpty();
+  }
+
+  public int size() {
+    return regions.size();
+  }
+
+  public List<Region> getRegions() {
+    return Collections.unmodifiableList(regions);
+  }
+
+  /**
+   * Adds the region to every chunk cell its bounding box touches, cells
+   * keep their regions sorted by priority with insertion order on ties.
+   */
+  public void add(Region region) {
+    regions.add(region);
+
+    forEachCell(
+      region,
+      hash -> {
+        Region[] current = cells.getOrDefault(hash, EMPTY);
+        Region[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = region;
+
+        Arrays.sort(updated, BY_PRIORITY);
+
+        cells.put(hash, updated);
+      }
+    );
+  }
+
+  public boolean remove(Region region) {
+    if (!regions.remove(region)) {
+      return false;
+    }
+
+    forEachCell(
+      region,
+      hash -> {
+        Region[] updated = Arrays
+          .stream(cells.getOrDefault(hash, EMPTY))
+          .filter(registered -> registered != region)
+          .toArray(Region[]::new);
+
+        if (updated.length == 0) {
+          cells.remove(hash);
+        } else {
+          cells.put(hash, updated);
+        }
+      }
+    );
+
+    return true;
+  }
+
+  public void clear() {
+    regions.clear();
+    cells.clear();
+  }
+
+  private static void forEachCell(Region region, Consumer<Long> action) {
+    int minChunkX = region.minX >> 4;
+    int maxChunkX = region.maxX >> 4;
+    int minChunkZ = region.minZ >> 4;
+    int maxChunkZ = region.maxZ >> 4;
+
+    for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+      for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+        action.accept(Level.chunkHash(chunkX, chunkZ));
+      }
+    }
+  }
+
+  /**
+   * Regions whose bounding box touches the chunk of the block, sorted by
+   * priority. The returned array must not be modified.
+   */
+  public Region[] getCandidates(int x, int z) {
+    if (regions.isEmpty()) {
+      return EMPTY;
+    }
+
+    return cells.getOrDefault(Level.chunkHash(x >> 4, z >> 4), EMPTY);
+  }
+
+  public Region getRegionAt(int x, int y, int z) {
+    for (Region region : getCandidates(x, z)) {
+      if (region.contains(x, y, z)) {
+        return region;
+      }
+    }
+
+    return null;
+  }
+
+  public List<Region> getRegionsAt(int x, int y, int z) {
+    List<Region> found = new ArrayList<>();
+
+    for (Region region : getCandidates(x, z)) {
+      if (region.contains(x, y, z)) {
+        found.add(region);
+      }
+    }
+
+    return found;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.rollback;
+
+import cn.nukkit.block.Block;
+import cn.nukkit.blockentity.BlockEntity;
+import cn.nukkit.level.Level;
+import cn.nukkit.level.format.FullChunk;
+import cn.nukkit.math.Vector3;
+import cn.nukkit.nbt.tag.CompoundTag;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BlockJournal {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] positions = new long[INITIAL_CAPACITY];
+
+  private int[] states = new int[INITIAL_CAPACITY];
+
+  private int size = 0;
+
+  /**
+   * Block entity of every journaled position as it was first seen, null
+   * when there was none so ones created during the match can be removed.
+   */
+  private final Map<Long, CompoundTag> blockEntities = new HashMap<>();
+
+  private final Vector3 temporalVector = new Vector3();
+
+  public static long pack(int x, int y, int z) {
+    return (
+      ((long) (x & 0x3FFFFFF) << 38) |
+      ((long) (z & 0x3FFFFFF) << 12) |
+      (y & 0xFFF)
+    );
+  }
+
+  public static int unpackX(long position) {
+    return (int) (position >> 38);
+  }
+
+  public static int unpackY(long position) {
+    return (int) (position << 52 >> 52);
+  }
+
+  public static int unpackZ(long position) {
+    return (int) (position << 26 >> 38);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public synchronized void clear() {
+    size = 0;
+    blockEntities.clear();
+
+    if (positions.length > INITIAL_CAPACITY) {
+      positions = new long[INITIAL_CAPACITY];
+      states = new int[INITIAL_CAPACITY];
+    }
+  }
+
+  public void record(Block block) {
+    record(
+      block.getLevel(),
+      block.getFloorX(),
+      block.getFloorY(),
+      block.getFloorZ()
+    );
+  }
+
+  /**
+   * Stores the current state of the position, call it before the change
+   * is applied.
+   */
+  public synchronized void record(Level level, int x, int y, int z) {
+    if (size == positions.length) {
+      int capacity = size << 1;
+
+      positions = Arrays.copyOf(positions, capacity);
+      states = Arrays.copyOf(states, capacity);
+    }
+
+    long position = pack(x, y, z);
+
+    positions[size] = position;
+    states[size] =
+      (level.getBlockIdAt(x, y, z) << 16) |
+      (level.getBlockDataAt(x, y, z) & 0xFFFF);
+    size++;
+
+    if (blockEntities.containsKey(position)) {
+      return;
+    }
+
+    BlockEntity blockEntity = level.getBlockEntity(
+      temporalVector.setComponents(x, y, z)
+    );
+
+    if (blockEntity != null) {
+      blockEntity.saveNBT();
+      blockEntities.put(position, blockEntity.namedTag.copy());
+    } else {
+      blockEntities.put(position, null);
+    }
+  }
+
+  /**
+   * Replays the journal backwards so every position ends up with the state
+   * it had before its first recorded change. Must run on the main thread.
+   */
+  public synchronized int rollback(Level level) {
+    int restored = size;
+
+    for (int i = size - 1; i >= 0; i--) {
+      long position = positions[i];
+      int state = states[i];
+
+      level.setBlock(
+        temporalVector.setComponents(
+          unpackX(position),
+          unpackY(position),
+          unpackZ(position)
+        ),
+        Block.get(state >>> 16, state & 0xFFFF),
+        false,
+        false
+      );
+    }
+
+    for (Map.Entry<Long, CompoundTag> entry : blockEntities.entrySet()) {
+      long position = entry.getKey();
+
+      int x = unpackX(position);
+      int z = unpackZ(position);
+
+      BlockEntity current = level.getBlockEntity(
+        temporalVector.setComponents(x, unpackY(position), z)
+      );
+
+      if (current != null) {
+        current.close();
+      }
+
+      CompoundTag nbt = entry.getValue();
+
+      if (nbt == null) {
+        continue;
+      }
+
+      FullChunk chunk = level.getChunk(x >> 4, z >> 4);
+
+      BlockEntity.createBlockEntity(nbt.getString("id"), chunk, nbt.copy());
+    }
+
+    clear();
+
+    return restored;
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.vote;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import net.josscoder.gameapi.map.GameMap;
+
+public class MapVoteEngine {
+
+  private final Map<String, Candidate> candidates = new LinkedHashMap<>();
+
+  private final Map<UUID, String> voters = new ConcurrentHashMap<>();
+
+  private int nextOrder = 0;
+
+  private volatile Candidate leader = null;
+
+  @Getter
+  private volatile boolean frozen = false;
+
+  private volatile GameMap frozenWinner = null;
+
+  private static String key(String mapName) {
+    return mapName.toLowerCase(Locale.ROOT);
+  }
+
+  public synchronized void addMap(GameMap map) {
+    Candidate candidate = new Candidate(map, nextOrder++);
+
+    Candidate previous = candidates.put(key(map.getName()), candidate);
+
+    if (previous != null) {
+      voters.values().removeIf(key(map.getName())::equals);
+      map.getVoteTally().reset();
+      recomputeLeader();
+
+      return;
+    }
+
+    offerLeader(candidate);
+  }
+
+  public synchronized void removeMap(String mapName) {
+    Candidate removed = candidates.remove(key(mapName));
+
+    if (removed == null) {
+      return;
+    }
+
+    voters.values().removeIf(key(mapName)::equals);
+
+    if (removed == leader) {
+      recomputeLeader();
+    }
+  }
+
+  public Map<UUID, String> getVoters() {
+    return Collections.unmodifiableMap(voters);
+  }
+
+  /**
+   * Returns the name the voted map was registered with, votes are keyed in
+   * lower case internally.
+   */
+  public String getVote(UUID voter) {
+    String voted = voters.get(voter);
+
+    if (voted == null) {
+      return null;
+    }
+
+    Candidate candidate = candidates.get(voted);
+
+    return candidate != null ? candidate.map.getName() : voted;
+  }
+
+  public boolean hasVoted(UUID voter) {
+    return voters.containsKey(voter);
+  }
+
+  public boolean hasVoted(UUID voter, String mapName) {
+    String voted = voters.get(voter);
+
+    return voted != null && voted.equals(key(mapName));
+  }
+
+  /**
+   * Moves the voter's vote to the given map, the leader is only compared
+   * against the maps whose tally changed. Returns false once voting is
+   * frozen or for unknown maps.
+   */
+  public synchronized boolean vote(UUID voter, String mapName) {
+    Candidate candidate = candidates.get(key(mapName));
+
+    if (frozen || candidate == null) {
+      return false;
+    }
+
+    String previous = voters.put(voter, key(mapName));
+
+    if (previous != null) {
+      if (previous.equals(key(mapName))) {
+        return true;
+      }
+
+      decrement(candidates.get(previous));
+    }
+
+    candidate.map.getVoteTally().increment();
+    offerLeader(candidate);
+
+    return true;
+  }
+
+  public synchronized boolean removeVote(UUID voter) {
+    if (frozen) {
+      return false;
+    }
+
+    String previous = voters.remove(voter);
+
+    if (previous == null) {
+      return false;
+    }
+
+    decrement(candidates.get(previous));
+
+    return true;
+  }
+
+  private void decrement(Candidate candidate) {
+    if (candidate == null) {
+      return;
+    }
+
+    candidate.map.getVoteTally().decrement();
+
+    if (candidate == leader) {
+      recomputeLeader();
+    }
+  }
+
+  private void offerLeader(Candidate candidate) {
+    if (leader == null || candidate.beats(leader)) {
+      leader = candidate;
+    }
+  }
+
+  private void recomputeLeader() {
+    Candidate best = null;
+
+    for (Candidate candidate : candidates.values()) {
+      if (best == null || candidate.beats(best)) {
+        best = candidate;
+      }
+    }
+
+    leader = best;
+  }
+
+  public GameMap getLeader() {
+    Candidate current = leader;
+
+    return current != null ? current.map : null;
+  }
+
+  /**
+   * Returns the frozen winner once voting ended, the running leader
+   * otherwise.
+   */
+  public GameMap getWinner() {
+    return frozen ? frozenWinner : getLeader();
+  }
+
+  public synchronized void freeze() {
+    if (frozen) {
+      return;
+    }
+
+    frozenWinner = getLeader();
+    frozen = true;
+  }
+
+  public synchronized void unfreeze() {
+    frozen = false;
+    frozenWinner = null;
+  }
+
+  public synchronized void reset() {
+    voters.clear();
+    candidates
+      .values()
+      .forEach(candidate -> candidate.map.getVoteTally().reset());
+
+    unfreeze();
+    recomputeLeader();
+  }
+
+  /**
+   * More votes win, ties go to the map registered first.
+   */
+  static boolean ranksAbove(
+    int votes,
+    int order,
+    int otherVotes,
+    int otherOrder
+  ) {
+    return votes > otherVotes || (votes == otherVotes && order < otherOrder);
+  }
+
+  private static class Candidate {
+
+    private final GameMap map;
+    private final int order;
+
+    private Candidate(GameMap map, int order) {
+      this.map = map;
+      this.order = order;
+    }
+
+    private boolean beats(Candidate other) {
+      return ranksAbove(
+        map.getVotes(),
+        order,
+        other.map.getVotes(),
+        other.order
+      );
+    }
+  }
+}
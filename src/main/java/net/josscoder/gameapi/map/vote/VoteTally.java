@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.map.vote;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Vote count of one map. The vote engine drives it, changing it directly
+ * makes the count disagree with the recorded voters.
+ */
+public final class VoteTally {
+
+  private final IntConsumer listener;
+
+  private volatile int votes = 0;
+
+  public VoteTally() {
+    this(votes -> {});
+  }
+
+  public VoteTally(IntConsumer listener) {
+    this.listener = listener;
+  }
+
+  public int get() {
+    return votes;
+  }
+
+  public synchronized void increment() {
+    set(votes + 1);
+  }
+
+  public synchronized void decrement() {
+    set(Math.max(votes - 1, 0));
+  }
+
+  public synchronized void reset() {
+    set(0);
+  }
+
+  private void set(int votes) {
+    this.votes = votes;
+    listener.accept(votes);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.network;
+
+import cn.nukkit.event.EventHandler;
+import cn.nukkit.event.EventPriority;
+import cn.nukkit.event.Listener;
+import cn.nukkit.event.server.DataPacketReceiveEvent;
+import cn.nukkit.network.protocol.DataPacket;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PacketRouter implements Listener {
+
+  /**
+   * Bedrock packet ids currently stay below this, anything above (or
+   * negative) is kept in the fallback map instead of being masked.
+   */
+  private static final int TABLE_SIZE = 512;
+
+  private static final PacketHandler<?>[] EMPTY = new PacketHandler<?>[0];
+
+  private final PacketHandler<?>[][] handlers =
+    new PacketHandler<?>[TABLE_SIZE][];
+
+  private final Map<Integer, PacketHandler<?>[]> overflow =
+    new ConcurrentHashMap<>();
+
+  public PacketRouter() {
+    Arrays.fill(handlers, EMPTY);
+  }
+
+  private static boolean inTable(int packetId) {
+    return packetId >= 0 && packetId < TABLE_SIZE;
+  }
+
+  private PacketHandler<?>[] get(int packetId) {
+    if (inTable(packetId)) {
+      return handlers[packetId];
+    }
+
+    return overflow.getOrDefault(packetId, EMPTY);
+  }
+
+  private void set(int packetId, PacketHandler<?>[] registered) {
+    if (inTable(packetId)) {
+      handlers[packetId] = registered;
+    } else if (registered.length == 0) {
+      overflow.remove(packetId);
+    } else {
+      overflow.put(packetId, registered);
+    }
+  }
+
+  /**
+   * Registers a handler for one packet id, the packet is cast to the
+   * handler type so it must match the class sent under that id.
+   */
+  public synchronized <T extends DataPacket> void register(
+    int packetId,
+    PacketHandler<T> handler
+  ) {
+    PacketHandler<?>[] current = get(packetId);
+    PacketHandler<?>[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = handler;
+
+    set(packetId, updated);
+  }
+
+  public synchronized void unregister(
+    int packetId,
+    PacketHandler<?> handler
+  ) {
+    set(
+      packetId,
+      Arrays
+        .stream(get(packetId))
+        .filter(registered -> registered != handler)
+        .toArray(PacketHandler<?>[]::new)
+    );
+  }
+
+  public boolean hasHandlers(int packetId) {
+    return get(packetId).length > 0;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @EventHandler(priority = EventPriority.NORMAL)
+  public void onPacketReceive(DataPacketReceiveEvent event) {
+    DataPacket packet = event.getPacket();
+
+    PacketHandler[] registered = get(packet.pid());
+
+    for (PacketHandler handler : registered) {
+      handler.handle(event, packet);
+    }
+  }
+}
@@ -28,15 +28,24 @@ import cn.nukkit.scheduler.TaskHandler;
 import cn.nukkit.utils.TextFormat;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
+import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
+import net.josscoder.gameapi.map.GameMap;
 import net.josscoder.gameapi.map.WaitingRoomMap;
 import net.josscoder.gameapi.phase.base.EndGamePhase;
 import net.josscoder.gameapi.user.User;
+import net.josscoder.gameapi.user.bossbar.SharedBossBar;
 import net.josscoder.gameapi.user.event.UserJoinServerEvent;
 import net.josscoder.gameapi.user.event.UserQuitServerEvent;
 import net.josscoder.gameapi.user.factory.UserFactory;
+import net.josscoder.gameapi.user.scoreboard.SharedScoreboard;
+import net.josscoder.gameapi.util.BroadcastUtils;
+import net.josscoder.gameapi.util.MessageTemplate;
 import net.josscoder.gameapi.util.Utils;
 import net.minikloon.fsmgasm.State;
 import org.jetbrains.annotations.NotNull;
@@ -47,6 +56,8 @@ public abstract class GamePhase<T extends Game>
 
   protected final T game;
 
+  protected final Arena arena;
+
   protected final Duration duration;
 
   protected final UserFactory userFactory;
@@ -57,18 +68,47 @@ public abstract class GamePhase<T extends Game>
 
   protected final Set<Command> commands;
 
+  protected final Map<String, SharedScoreboard> sharedScoreboards;
+
+  protected final SharedBossBar sharedBossBar;
+
+  protected static final Predicate<Player> ALL_PLAYERS = player -> true;
+
+  private static final MessageTemplate JOIN_MESSAGE = MessageTemplate.compile(
+    "&a&l» &r&7{0} joined. &8[{1}/{2}]"
+  );
+
+  private static final MessageTemplate QUIT_MESSAGE = MessageTemplate.compile(
+    "&c&l» &r&7{0} left. &8[{1}/{2}]"
+  );
+
+  private static final MessageTemplate CHAT_MESSAGE = MessageTemplate.compile(
+    "&7{0}&l »&r&f {1}"
+  );
+
   public GamePhase(T game) {
     this(game, Duration.ZERO);
   }
 
   public GamePhase(T game, Duration duration) {
+    this(game, game.getDefaultArena(), duration);
+  }
+
+  public GamePhase(T game, Arena arena) {
+    this(game, arena, Duration.ZERO);
+  }
+
+  public GamePhase(T game, Arena arena, Duration duration) {
     userFactory = game.getUserFactory();
 
     listeners = new HashSet<>();
     tasks = new HashSet<>();
     commands = new HashSet<>();
+    sharedScoreboards = new ConcurrentHashMap<>();
+    sharedBossBar = new SharedBossBar(game);
 
     this.game = game;
+    this.arena = arena;
     this.duration = duration;
   }
 
@@ -140,7 +180,26 @@ public abstract class GamePhase<T extends Game>
   }
 
   protected Collection<Player> getOnlinePlayers() {
-    return getServer().getOnlinePlayers().values();
+    return arena.getPlayers();
+  }
+
+  protected void forEachPlayer(
+    Predicate<? super Player> condition,
+    Consumer<Player> action
+  ) {
+    for (Player player : getOnlinePlayers()) {
+      if (condition.test(player)) {
+        action.accept(player);
+      }
+    }
+  }
+
+  protected Collection<Player> getAudience(
+    Predicate<? super Player> condition
+  ) {
+    return condition == ALL_PLAYERS
+      ? getOnlinePlayers()
+      : getPlayers(condition);
   }
 
   protected List<Player> getPlayers(Predicate<? super Player> condition) {
@@ -151,32 +210,26 @@ public abstract class GamePhase<T extends Game>
   }
 
   protected List<Player> getSpectators() {
-    return getPlayers(Player::isSpectator);
+    return new ArrayList<>(arena.getSpectators());
   }
 
   protected List<Player> getNeutralPlayers() {
-    return getPlayers(player -> !player.isSpectator());
+    return new ArrayList<>(arena.getNeutralPlayers());
   }
 
   protected List<User> getNeutralUsers() {
-    List<User> users = new ArrayList<>();
-
-    for (Player neutralPlayer : getNeutralPlayers()) {
-      User user = userFactory.get(neutralPlayer);
-
-      if (user != null) {
-        users.add(user);
-      }
-    }
-
-    return users;
+    return toUsers(arena.getNeutralPlayers());
   }
 
   protected List<User> getSpectatorUsers() {
-    List<User> users = new ArrayList<>();
+    return toUsers(arena.getSpectators());
+  }
 
-    for (Player neutralPlayer : getSpectators()) {
-      User user = userFactory.get(neutralPlayer);
+  private List<User> toUsers(Collection<Player> players) {
+    List<User> users = new ArrayList<>(players.size());
+
+    for (Player player : players) {
+      User user = userFactory.get(player);
 
       if (user != null) {
         users.add(user);
@@ -187,11 +240,11 @@ public abstract class GamePhase<T extends Game>
   }
 
   protected int countSpectators() {
-    return getSpectators().size();
+    return arena.getSpectators().size();
   }
 
   protected int countNeutralPlayers() {
-    return getNeutralPlayers().size();
+    return arena.getNeutralPlayers().size();
   }
 
   protected void playSound(Player player, String soundName) {
@@ -217,8 +270,10 @@ public abstract class GamePhase<T extends Game>
     float volume,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(player -> playSound(player, soundName, pitch, volume));
+    forEachPlayer(
+      condition,
+      player -> playSound(player, soundName, pitch, volume)
+    );
   }
 
   protected void broadcastSound(
@@ -237,12 +292,7 @@ public abstract class GamePhase<T extends Game>
   }
 
   protected void broadcastSound(String soundName, float pitch, float volume) {
-    broadcastSound(
-      soundName,
-      pitch,
-      volume,
-      player -> getOnlinePlayers().contains(player)
-    );
+    broadcastSound(soundName, pitch, volume, ALL_PLAYERS);
   }
 
   protected void broadcastSound(String soundName, float pitch) {
@@ -257,12 +307,13 @@ public abstract class GamePhase<T extends Game>
     String message,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(player -> player.sendMessage(TextFormat.colorize(message)));
+    String colorized = Utils.colorize(message);
+
+    forEachPlayer(condition, player -> player.sendMessage(colorized));
   }
 
   protected void broadcastMessage(String message) {
-    broadcastMessage(message, player -> getOnlinePlayers().contains(player));
+    broadcastMessage(message, ALL_PLAYERS);
   }
 
   protected void broadcastActionBar(
@@ -272,16 +323,13 @@ public abstract class GamePhase<T extends Game>
     int fadeOut,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(
-        player ->
-          player.sendActionBar(
-            TextFormat.colorize(title),
-            fadeIn,
-            duration,
-            fadeOut
-          )
-      );
+    BroadcastUtils.broadcastActionBar(
+      getAudience(condition),
+      Utils.colorize(title),
+      fadeIn,
+      duration,
+      fadeOut
+    );
   }
 
   protected void broadcastActionBar(
@@ -290,13 +338,7 @@ public abstract class GamePhase<T extends Game>
     int duration,
     int fadeOut
   ) {
-    broadcastActionBar(
-      title,
-      fadeIn,
-      duration,
-      fadeOut,
-      player -> getOnlinePlayers().contains(player)
-    );
+    broadcastActionBar(title, fadeIn, duration, fadeOut, ALL_PLAYERS);
   }
 
   protected void broadcastActionBar(String title) {
@@ -318,17 +360,14 @@ public abstract class GamePhase<T extends Game>
     int fadeOut,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(
-        player ->
-          player.sendTitle(
-            TextFormat.colorize(title),
-            TextFormat.colorize(subTitle),
-            fadeIn,
-            stay,
-            fadeOut
-          )
-      );
+    BroadcastUtils.broadcastTitle(
+      getAudience(condition),
+      Utils.colorize(title),
+      Utils.colorize(subTitle),
+      fadeIn,
+      stay,
+      fadeOut
+    );
   }
 
   protected void broadcastTitle(
@@ -372,14 +411,7 @@ public abstract class GamePhase<T extends Game>
     int stay,
     int fadeOut
   ) {
-    broadcastTitle(
-      title,
-      subTitle,
-      fadeIn,
-      stay,
-      fadeOut,
-      player -> getOnlinePlayers().contains(player)
-    );
+    broadcastTitle(title, subTitle, fadeIn, stay, fadeOut, ALL_PLAYERS);
   }
 
   protected void broadcastTitle(String title, String subTitle) {
@@ -394,12 +426,14 @@ public abstract class GamePhase<T extends Game>
     String message,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(player -> player.sendTip(TextFormat.colorize(message)));
+    BroadcastUtils.broadcastTip(
+      getAudience(condition),
+      Utils.colorize(message)
+    );
   }
 
   protected void broadcastTip(String message) {
-    broadcastTip(message, player -> getOnlinePlayers().contains(player));
+    broadcastTip(message, ALL_PLAYERS);
   }
 
   protected void broadcastBossbar(
@@ -407,24 +441,48 @@ public abstract class GamePhase<T extends Game>
     float length,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(
-        player -> {
-          User user = userFactory.get(player);
+    String colorized = Utils.colorize(title);
+
+    if (condition == ALL_PLAYERS) {
+      sharedBossBar.update(colorized, length, getAudience(condition));
 
-          if (user != null) {
-            user.sendBossBar(TextFormat.colorize(title), length);
-          }
+      return;
+    }
+
+    forEachPlayer(
+      condition,
+      player -> {
+        User user = userFactory.get(player);
+
+        if (user != null) {
+          user.sendBossBar(colorized, length);
         }
-      );
+      }
+    );
   }
 
   protected void broadcastBossbar(String title, float length) {
-    broadcastBossbar(
-      title,
-      length,
-      player -> getOnlinePlayers().contains(player)
-    );
+    broadcastBossbar(title, length, ALL_PLAYERS);
+  }
+
+  /**
+   * Opt-in alternative to broadcastScoreboard: sends the same lines to every
+   * player matching the condition through one scoreboard instance, players
+   * can only view one shared view at a time.
+   */
+  protected void broadcastSharedScoreboard(
+    String view,
+    String title,
+    Predicate<? super Player> condition,
+    String... lines
+  ) {
+    sharedScoreboards
+      .computeIfAbsent(view, key -> new SharedScoreboard(game))
+      .update(Utils.colorize(title), getAudience(condition), lines);
+  }
+
+  protected void broadcastSharedScoreboard(String title, String... lines) {
+    broadcastSharedScoreboard("default", title, ALL_PLAYERS, lines);
   }
 
   protected void broadcastScoreboard(
@@ -432,24 +490,22 @@ public abstract class GamePhase<T extends Game>
     Predicate<? super Player> condition,
     String... lines
   ) {
-    getPlayers(condition)
-      .forEach(
-        player -> {
-          User user = userFactory.get(player);
+    String colorized = Utils.colorize(title);
+
+    forEachPlayer(
+      condition,
+      player -> {
+        User user = userFactory.get(player);
 
-          if (user != null) {
-            user.sendScoreboard(TextFormat.colorize(title), lines);
-          }
+        if (user != null) {
+          user.sendScoreboard(colorized, lines);
         }
-      );
+      }
+    );
   }
 
   protected void broadcastScoreboard(String title, String... lines) {
-    broadcastScoreboard(
-      title,
-      player -> getOnlinePlayers().contains(player),
-      lines
-    );
+    broadcastScoreboard(title, ALL_PLAYERS, lines);
   }
 
   protected void broadcastPopup(
@@ -457,14 +513,20 @@ public abstract class GamePhase<T extends Game>
     String subTitle,
     Predicate<? super Player> condition
   ) {
-    getPlayers(condition)
-      .forEach(
-        player ->
-          player.sendPopup(
-            TextFormat.colorize(message),
-            TextFormat.colorize(subTitle)
-          )
+    String colorized = Utils.colorize(message);
+
+    if (subTitle != null && !subTitle.isEmpty()) {
+      String colorizedSubTitle = Utils.colorize(subTitle);
+
+      forEachPlayer(
+        condition,
+        player -> player.sendPopup(colorized, colorizedSubTitle)
       );
+
+      return;
+    }
+
+    BroadcastUtils.broadcastPopup(getAudience(condition), colorized);
   }
 
   protected void broadcastPopup(
@@ -475,11 +537,7 @@ public abstract class GamePhase<T extends Game>
   }
 
   protected void broadcastPopup(String message, String subTitle) {
-    broadcastPopup(
-      message,
-      subTitle,
-      player -> getOnlinePlayers().contains(player)
-    );
+    broadcastPopup(message, subTitle, ALL_PLAYERS);
   }
 
   protected void broadcastPopup(String message) {
@@ -489,17 +547,24 @@ public abstract class GamePhase<T extends Game>
   @EventHandler(priority = EventPriority.LOW)
   public void onJoin(UserJoinServerEvent event) {
     Player player = event.getPlayer();
+
+    if (!arena.contains(player)) {
+      return;
+    }
+
     User user = event.getUser();
 
     WaitingRoomMap waitingRoomMap = game.getWaitingRoomMap();
 
-    if (!game.isAvailable()) {
+    if (!arena.isAvailable()) {
       user.convertSpectator();
 
       if (this instanceof EndGamePhase) {
         waitingRoomMap.teleportToPedestalCenter(player);
       } else {
-        game.getMapWinner().teleportToSafeSpawn(player);
+        GameMap map = arena.getMapWinner();
+
+        (map != null ? map : waitingRoomMap).teleportToSafeSpawn(player);
       }
 
       return;
@@ -520,13 +585,7 @@ public abstract class GamePhase<T extends Game>
     int maxPlayers = game.getMaxPlayers();
 
     broadcastMessage(
-      "&a&l» &r&7" +
-      player.getName() +
-      " joined. &8[" +
-      neutralPlayers +
-      "/" +
-      maxPlayers +
-      "]"
+      JOIN_MESSAGE.render(player.getName(), neutralPlayers, maxPlayers)
     );
   }
 
@@ -534,7 +593,7 @@ public abstract class GamePhase<T extends Game>
   public void onQuit(UserQuitServerEvent event) {
     Player player = event.getPlayer();
 
-    if (player.isSpectator()) {
+    if (!arena.contains(player) || player.isSpectator()) {
       return;
     }
 
@@ -542,13 +601,7 @@ public abstract class GamePhase<T extends Game>
     int maxPlayers = game.getMaxPlayers();
 
     broadcastMessage(
-      "&c&l» &r&7" +
-      player.getName() +
-      " left. &8[" +
-      neutralPlayers +
-      "/" +
-      maxPlayers +
-      "]"
+      QUIT_MESSAGE.render(player.getName(), neutralPlayers, maxPlayers)
     );
   }
 
@@ -556,13 +609,14 @@ public abstract class GamePhase<T extends Game>
   public void onChat(PlayerChatEvent event) {
     Player player = event.getPlayer();
 
-    String message =
-      TextFormat.GRAY +
-      player.getName() +
-      TextFormat.colorize("&l »&r&f ") +
-      event.getMessage();
+    if (!arena.contains(player)) {
+      return;
+    }
+
+    String message = CHAT_MESSAGE.render(player.getName(), event.getMessage());
 
-    getPlayers(gamePlayer -> gamePlayer.getGamemode() == player.getGamemode())
+    arena
+      .getPlayers(player.getGamemode())
       .forEach(onlinePlayer -> onlinePlayer.sendMessage(message));
 
     event.setCancelled();
@@ -585,5 +639,12 @@ public abstract class GamePhase<T extends Game>
 
     tasks.forEach(TaskHandler::cancel);
     tasks.clear();
+
+    sharedScoreboards.values().forEach(SharedScoreboard::close);
+    sharedScoreboards.clear();
+
+    sharedBossBar.close();
+
+    CustomItemFactory.releaseAll(this);
   }
 }
@@ -24,12 +24,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
 import net.josscoder.gameapi.event.GameEndEvent;
+import net.josscoder.gameapi.map.GameMap;
 import net.josscoder.gameapi.map.WaitingRoomMap;
 import net.josscoder.gameapi.user.User;
+import net.josscoder.gameapi.util.MessageTemplate;
 
 public class EndGamePhase extends LobbyPhase<Game> {
 
+  private static final MessageTemplate FINDING_GAME = MessageTemplate.compile(
+    "&eFinding a new game in &f{0}&e..."
+  );
+
   private final Map<Player, Integer> pedestalPlayers;
 
   private final WaitingRoomMap waitingRoomMap;
@@ -41,7 +48,16 @@ public class EndGamePhase extends LobbyPhase<Game> {
     Duration duration,
     Map<Player, Integer> pedestalPlayers
   ) {
-    super(game, duration);
+    this(game, game.getDefaultArena(), duration, pedestalPlayers);
+  }
+
+  public EndGamePhase(
+    Game game,
+    Arena arena,
+    Duration duration,
+    Map<Player, Integer> pedestalPlayers
+  ) {
+    super(game, arena, duration);
     this.pedestalPlayers = pedestalPlayers;
     waitingRoomMap = game.getWaitingRoomMap();
     waitingRoomMap.prepare();
@@ -109,9 +125,7 @@ public class EndGamePhase extends LobbyPhase<Game> {
     }
 
     broadcastActionBar(
-      "&eFinding a new game in &f" +
-      getRemainingDuration().getSeconds() +
-      "&e..."
+      FINDING_GAME.render((int) getRemainingDuration().getSeconds())
     );
   }
 
@@ -132,12 +146,40 @@ public class EndGamePhase extends LobbyPhase<Game> {
 
     game.searchNewGameFor(new ArrayList<>(getOnlinePlayers()));
 
-    game.schedule(
-      () ->
-        game.scheduleThread(
-          () -> game.reset(game.getMapWinner().getName(), true)
-        ),
-      20 * 10
-    );
+    game
+      .delay(20 * 10)
+      .thenRunAsync(
+        () -> {
+          GameMap map = arena.getMapWinner();
+
+          boolean inPlace = map == null || map.canResetInPlace();
+
+          if (map != null) {
+            game.reset(arena, map.getName(), false);
+          }
+
+          game.scheduleOnMainThread(
+            () -> {
+              if (inPlace && game.startNewRound(arena)) {
+                return;
+              }
+
+              if (arena.isDefault()) {
+                game.reset();
+              } else {
+                arena.reset();
+              }
+            }
+          );
+        },
+        game.getThreadPool()
+      )
+      .exceptionally(
+        throwable -> {
+          game.getLogger().error("Could not reset the game", throwable);
+
+          return null;
+        }
+      );
   }
 }
@@ -19,19 +19,37 @@ package net.josscoder.gameapi.phase.base;
 import java.time.Duration;
 import lombok.SneakyThrows;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
 import net.josscoder.gameapi.map.GameMap;
+import net.josscoder.gameapi.util.MessageTemplate;
 
 public class LobbyCountdownPhase extends LobbyPhase<Game> {
 
+  private static final MessageTemplate STARTING = MessageTemplate.compile(
+    "&aStarting game in in &l&a{0}"
+  );
+
+  private static final MessageTemplate STARTING_SOON = MessageTemplate.compile(
+    "&aStarting game in in &l&c{0}"
+  );
+
+  private static final MessageTemplate MAP_WINNER = MessageTemplate.compile(
+    "&l&b» &r&e{0}&7 won with &f{1}&7 votes!"
+  );
+
   public LobbyCountdownPhase(Game game, Duration duration) {
-    super(game, duration);
+    this(game, game.getDefaultArena(), duration);
+  }
+
+  public LobbyCountdownPhase(Game game, Arena arena, Duration duration) {
+    super(game, arena, duration);
   }
 
   @SneakyThrows
   @Override
   public void onUpdate() {
     if (countNeutralPlayers() < 1) {
-      game.reset();
+      arena.reset();
 
       return;
     }
@@ -45,18 +63,14 @@ public class LobbyCountdownPhase extends LobbyPhase<Game> {
     }
 
     if (remainingDuration == 3 && game.isCanVoteMap()) {
-      game.setMapVoteFinished(true);
+      arena.setMapVoteFinished(true);
       broadcastMessage("&l&b» &aVoting has ended!");
 
-      GameMap mapWinner = game.getMapWinner();
+      GameMap mapWinner = arena.getMapWinner();
 
       if (mapWinner != null) {
         broadcastMessage(
-          "&l&b» &r&e" +
-          mapWinner.getName() +
-          "&7 won with &f" +
-          mapWinner.getVotes() +
-          "&7 votes!"
+          MAP_WINNER.render(mapWinner.getName(), mapWinner.getVotes())
         );
       }
     }
@@ -66,9 +80,9 @@ public class LobbyCountdownPhase extends LobbyPhase<Game> {
     }
 
     broadcastActionBar(
-      "&aStarting game in in &l" +
-      (remainingDuration <= 5 ? "&c" : "&a") +
-      remainingDuration
+      (remainingDuration <= 5 ? STARTING_SOON : STARTING).render(
+          remainingDuration
+        )
     );
   }
 }
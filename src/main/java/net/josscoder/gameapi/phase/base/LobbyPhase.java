@@ -28,9 +28,10 @@ import cn.nukkit.event.inventory.*;
 import cn.nukkit.event.player.*;
 import cn.nukkit.inventory.*;
 import cn.nukkit.item.Item;
-import cn.nukkit.nbt.tag.CompoundTag;
 import java.time.Duration;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
+import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
 import net.josscoder.gameapi.phase.GamePhase;
 
 public abstract class LobbyPhase<T extends Game> extends GamePhase<Game> {
@@ -43,6 +44,10 @@ public abstract class LobbyPhase<T extends Game> extends GamePhase<Game> {
     super(game, duration);
   }
 
+  public LobbyPhase(T game, Arena arena, Duration duration) {
+    super(game, arena, duration);
+  }
+
   @Override
   protected void onStart() {}
 
@@ -177,9 +182,7 @@ public abstract class LobbyPhase<T extends Game> extends GamePhase<Game> {
       return;
     }
 
-    CompoundTag nbt = item.getCustomBlockData();
-
-    if (nbt != null && nbt.contains("customItem")) {
+    if (CustomItemFactory.resolve(item) != null) {
       return;
     }
 
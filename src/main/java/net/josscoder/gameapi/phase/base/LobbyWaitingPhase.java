@@ -16,14 +16,29 @@
 
 package net.josscoder.gameapi.phase.base;
 
+import java.time.Duration;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.arena.Arena;
+import net.josscoder.gameapi.util.MessageTemplate;
 
 public class LobbyWaitingPhase extends LobbyPhase<Game> {
 
+  private static final MessageTemplate PLAYER_NEEDED = MessageTemplate.compile(
+    "&f{0}&e player needed to start..."
+  );
+
+  private static final MessageTemplate PLAYERS_NEEDED = MessageTemplate.compile(
+    "&f{0}&e players needed to start..."
+  );
+
   private final int playersNeeded;
 
   public LobbyWaitingPhase(Game game) {
-    super(game);
+    this(game, game.getDefaultArena());
+  }
+
+  public LobbyWaitingPhase(Game game, Arena arena) {
+    super(game, arena, Duration.ZERO);
     this.playersNeeded = game.getMinPlayers();
   }
 
@@ -37,11 +52,9 @@ public class LobbyWaitingPhase extends LobbyPhase<Game> {
     int restMorePlayers = (playersNeeded - countNeutralPlayers());
 
     broadcastActionBar(
-      "&f" +
-      restMorePlayers +
-      "&e player" +
-      (restMorePlayers == 1 ? "" : "s") +
-      " needed to start..."
+      (restMorePlayers == 1 ? PLAYER_NEEDED : PLAYERS_NEEDED).render(
+          restMorePlayers
+        )
     );
   }
 
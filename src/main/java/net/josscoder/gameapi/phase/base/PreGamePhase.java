@@ -27,21 +27,31 @@ import java.util.Random;
 import java.util.Set;
 import net.josscoder.gameapi.Game;
 import net.josscoder.gameapi.GameType;
+import net.josscoder.gameapi.arena.Arena;
 import net.josscoder.gameapi.event.GameStartEvent;
 import net.josscoder.gameapi.map.GameMap;
 import net.josscoder.gameapi.team.Team;
 import net.josscoder.gameapi.user.User;
 import net.josscoder.gameapi.util.CharUtils;
 import net.josscoder.gameapi.util.MathUtils;
+import net.josscoder.gameapi.util.MessageTemplate;
 
 public class PreGamePhase extends LobbyPhase<Game> {
 
+  private static final MessageTemplate GAME_START = MessageTemplate.compile(
+    "&eGame Start: &l»&r {0}&f {1}"
+  );
+
   private final int initialCountdown;
   private int countdown;
   private final int mapTime;
 
   public PreGamePhase(Game game, int countdown, int mapTime) {
-    super(game, Duration.ZERO);
+    this(game, game.getDefaultArena(), countdown, mapTime);
+  }
+
+  public PreGamePhase(Game game, Arena arena, int countdown, int mapTime) {
+    super(game, arena, Duration.ZERO);
     this.initialCountdown = countdown;
     this.countdown = countdown;
     this.mapTime = mapTime;
@@ -49,18 +59,29 @@ public class PreGamePhase extends LobbyPhase<Game> {
 
   @Override
   protected void onStart() {
-    game.setStarted(true);
-    game.getMapWinner().prepare(mapTime);
+    GameMap map = arena.getMapWinner();
+
+    if (map == null) {
+      game
+        .getLogger()
+        .error("Arena " + arena.getId() + " has no map to play on");
+      game.schedule(arena::reset, 1);
+
+      return;
+    }
+
+    arena.setStarted(true);
+    map.prepare(mapTime);
     spawnPlayers();
   }
 
   private void spawnPlayers() {
-    GameMap map = game.getMapWinner();
+    GameMap map = arena.getMapWinner();
 
     boolean isTeam = (game.getGameType() == GameType.TEAM && game.isTeamable());
 
     if (isTeam) {
-      game
+      arena
         .getTeams()
         .forEach(
           team ->
@@ -126,10 +147,10 @@ public class PreGamePhase extends LobbyPhase<Game> {
 
     if (countdown > 0) {
       broadcastActionBar(
-        "&eGame Start: &l»&r " +
-        CharUtils.timeToChar(countdown, initialCountdown) +
-        "&f " +
-        countdown
+        GAME_START.render(
+          CharUtils.timeToChar(countdown, initialCountdown),
+          countdown
+        )
       );
 
       if (countdown <= 3) {
@@ -169,7 +190,7 @@ public class PreGamePhase extends LobbyPhase<Game> {
       getNeutralPlayers()
         .forEach(
           player -> {
-            Team team = game.getSortedTeams().get(0);
+            Team team = arena.getSortedTeams(true).get(0);
 
             String color = team.getColor();
 
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.scheduler;
+
+import cn.nukkit.Server;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+public class GameThreadPool extends ThreadPoolExecutor {
+
+  public enum RejectionPolicy {
+    CALLER_RUNS,
+    ABORT,
+    DISCARD,
+    DISCARD_OLDEST;
+
+    public RejectedExecutionHandler toHandler() {
+      switch (this) {
+        case ABORT:
+          return new AbortPolicy();
+        case DISCARD:
+          return new DiscardPolicy();
+        case DISCARD_OLDEST:
+          return new DiscardOldestPolicy();
+        default:
+          return new CallerRunsPolicy();
+      }
+    }
+
+    public static RejectionPolicy fromString(String name) {
+      try {
+        return valueOf(name.trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        return ABORT;
+      }
+    }
+  }
+
+  private final ThreadLocal<Long> startTime = new ThreadLocal<>();
+
+  private final LongAdder completedTasks = new LongAdder();
+
+  private final LongAdder failedTasks = new LongAdder();
+
+  private final LongAdder rejectedTasks = new LongAdder();
+
+  private final LongAdder totalWaitNanos = new LongAdder();
+
+  private final LongAdder totalRunNanos = new LongAdder();
+
+  @Getter
+  private volatile long maxRunNanos = 0;
+
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+  public GameThreadPool(
+    String name,
+    int threads,
+    int queueSize,
+    RejectionPolicy rejectionPolicy
+  ) {
+    super(
+      threads,
+      threads,
+      60L,
+      TimeUnit.SECONDS,
+      new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+      new NamedThreadFactory(name)
+    );
+    RejectedExecutionHandler handler = rejectionPolicy.toHandler();
+
+    setRejectedExecutionHandler(
+      (runnable, executor) -> {
+        rejectedTasks.increment();
+
+        if (
+          rejectionPolicy == RejectionPolicy.CALLER_RUNS &&
+          Server.getInstance().isPrimaryThread()
+        ) {
+          //Never run blocking pool work (disk I/O) on the main thread
+          Server
+            .getInstance()
+            .getLogger()
+            .warning("Thread pool " + name + " is full, task rejected");
+
+          throw new RejectedExecutionException(
+            "Thread pool " + name + " is full"
+          );
+        }
+
+        handler.rejectedExecution(runnable, executor);
+      }
+    );
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    super.execute(new TimedTask(command));
+
+    int depth = getQueue().size();
+    int max;
+
+    while (depth > (max = maxQueueDepth.get())) {
+      if (maxQueueDepth.compareAndSet(max, depth)) {
+        break;
+      }
+    }
+  }
+
+  @Override
+  protected void beforeExecute(Thread thread, Runnable runnable) {
+    super.beforeExecute(thread, runnable);
+
+    long now = System.nanoTime();
+
+    if (runnable instanceof TimedTask) {
+      totalWaitNanos.add(now - ((TimedTask) runnable).queuedAt);
+    }
+
+    startTime.set(now);
+  }
+
+  @Override
+  protected void afterExecute(Runnable runnable, Throwable throwable) {
+    super.afterExecute(runnable, throwable);
+
+    Long start = startTime.get();
+
+    if (start != null) {
+      long elapsed = System.nanoTime() - start;
+
+      totalRunNanos.add(elapsed);
+
+      if (elapsed > maxRunNanos) {
+        maxRunNanos = elapsed;
+      }
+
+      startTime.remove();
+    }
+
+    Runnable task = runnable instanceof TimedTask
+      ? ((TimedTask) runnable).task
+      : runnable;
+
+    if (
+      throwable == null &&
+      task instanceof Future<?> &&
+      ((Future<?>) task).isDone()
+    ) {
+      try {
+        ((Future<?>) task).get();
+      } catch (CancellationException e) {
+        throwable = e;
+      } catch (ExecutionException e) {
+        throwable = e.getCause();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    if (throwable == null) {
+      completedTasks.increment();
+    } else {
+      failedTasks.increment();
+    }
+  }
+
+  public long getCompletedTasks() {
+    return completedTasks.sum();
+  }
+
+  public long getFailedTasks() {
+    return failedTasks.sum();
+  }
+
+  public long getRejectedTasks() {
+    return rejectedTasks.sum();
+  }
+
+  public int getQueueDepth() {
+    return getQueue().size();
+  }
+
+  public int getMaxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  public double getAverageWaitMillis() {
+    long finished = getCompletedTasks() + getFailedTasks();
+
+    return finished == 0 ? 0 : totalWaitNanos.sum() / 1e6 / finished;
+  }
+
+  public double getAverageRunMillis() {
+    long finished = getCompletedTasks() + getFailedTasks();
+
+    return finished == 0 ? 0 : totalRunNanos.sum() / 1e6 / finished;
+  }
+
+  public String getStatus() {
+    return String.format(
+      "active=%d, queued=%d (max %d), completed=%d, failed=%d, rejected=%d, avgWait=%.2fms, avgRun=%.2fms, maxRun=%.2fms",
+      getActiveCount(),
+      getQueueDepth(),
+      getMaxQueueDepth(),
+      getCompletedTasks(),
+      getFailedTasks(),
+      getRejectedTasks(),
+      getAverageWaitMillis(),
+      getAverageRunMillis(),
+      maxRunNanos / 1e6
+    );
+  }
+
+  public boolean shutdownGracefully(long timeout, TimeUnit unit) {
+    shutdown();
+
+    try {
+      if (awaitTermination(timeout, unit)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    shutdownNow();
+
+    return false;
+  }
+
+  private static class TimedTask implements Runnable {
+
+    private final Runnable task;
+
+    private final long queuedAt = System.nanoTime();
+
+    private TimedTask(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+}
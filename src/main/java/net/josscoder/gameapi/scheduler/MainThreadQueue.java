@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.Setter;
+import net.josscoder.gameapi.Game;
+
+public class MainThreadQueue implements Runnable {
+
+  private final Game game;
+
+  private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger depth = new AtomicInteger();
+
+  @Getter
+  @Setter
+  private long budgetNanos;
+
+  @Getter
+  private int drainedLastTick = 0;
+
+  @Getter
+  private int maxDrainedPerTick = 0;
+
+  @Getter
+  private long totalDrained = 0;
+
+  @Getter
+  private long carriedOverTicks = 0;
+
+  public MainThreadQueue(Game game, long budgetNanos) {
+    this.game = game;
+    this.budgetNanos = budgetNanos;
+  }
+
+  public void offer(Runnable runnable) {
+    queue.offer(runnable);
+    depth.incrementAndGet();
+  }
+
+  public int getDepth() {
+    return depth.get();
+  }
+
+  /**
+   * Drains queued work on the main thread until the tick budget runs out,
+   * the rest waits for the next tick.
+   */
+  @Override
+  public void run() {
+    long deadline = System.nanoTime() + budgetNanos;
+    int drained = 0;
+
+    Runnable runnable;
+
+    while ((runnable = queue.poll()) != null) {
+      depth.decrementAndGet();
+      drained++;
+
+      try {
+        runnable.run();
+      } catch (Throwable throwable) {
+        game.getLogger().error("Error running main thread task", throwable);
+      }
+
+      if (System.nanoTime() >= deadline) {
+        break;
+      }
+    }
+
+    if (!queue.isEmpty()) {
+      carriedOverTicks++;
+    }
+
+    drainedLastTick = drained;
+    maxDrainedPerTick = Math.max(maxDrainedPerTick, drained);
+    totalDrained += drained;
+  }
+
+  public void drainAll() {
+    Runnable runnable;
+
+    while ((runnable = queue.poll()) != null) {
+      depth.decrementAndGet();
+
+      try {
+        runnable.run();
+      } catch (Throwable throwable) {
+        game.getLogger().error("Error running main thread task", throwable);
+      }
+    }
+  }
+
+  public String getStatus() {
+    return String.format(
+      "queued=%d, drainedLastTick=%d, maxDrainedPerTick=%d, totalDrained=%d, carriedOverTicks=%d",
+      getDepth(),
+      drainedLastTick,
+      maxDrainedPerTick,
+      totalDrained,
+      carriedOverTicks
+    );
+  }
+}
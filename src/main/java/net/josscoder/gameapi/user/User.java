@@ -23,14 +23,19 @@ import cn.nukkit.item.Item;
 import cn.nukkit.level.Location;
 import cn.nukkit.math.Vector3;
 import cn.nukkit.potion.Effect;
-import cn.nukkit.utils.DummyBossBar;
 import cn.nukkit.utils.TextFormat;
-import gt.creeperface.nukkit.scoreboardapi.ScoreboardAPI;
-import gt.creeperface.nukkit.scoreboardapi.scoreboard.ObjectiveSortOrder;
 import gt.creeperface.nukkit.scoreboardapi.scoreboard.SimpleScoreboard;
+import java.lang.ref.WeakReference;
+import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.map.GameMap;
+import net.josscoder.gameapi.user.bossbar.UserBossBar;
 import net.josscoder.gameapi.user.event.UserConvertSpectatorEvent;
+import net.josscoder.gameapi.user.scoreboard.SharedScoreboard;
+import net.josscoder.gameapi.user.scoreboard.UserScoreboard;
 import net.josscoder.gameapi.user.storage.LocalStorage;
 import net.josscoder.gameapi.util.Utils;
 
@@ -43,18 +48,53 @@ public class User {
 
   private final LocalStorage localStorage;
 
-  private DummyBossBar bossbar;
+  private final UserBossBar userBossBar;
 
-  private SimpleScoreboard scoreboard;
+  private final UserScoreboard userScoreboard;
+
+  @Setter
+  private SharedScoreboard sharedScoreboard;
+
+  @Getter(AccessLevel.NONE)
+  private final WeakReference<Player> playerReference;
+
+  private final UUID uuid;
+
+  private final long entityId;
+
+  @Setter
+  private int slot = -1;
+
+  public User(Game game, Player player) {
+    this(game, player.getName(), player);
+  }
 
   public User(Game game, String name) {
+    this(game, name, null);
+  }
+
+  private User(Game game, String name, Player player) {
     this.game = game;
     this.name = name;
 
+    playerReference = player != null ? new WeakReference<>(player) : null;
+    uuid = player != null ? player.getUniqueId() : null;
+    entityId = player != null ? player.getId() : -1;
+
     localStorage = new LocalStorage();
+    userScoreboard = new UserScoreboard(this);
+    userBossBar = new UserBossBar(this);
   }
 
+  /**
+   * Users created from a player keep a weak handle to it, so the lookup
+   * is constant time and never scans the online players by name.
+   */
   public Player getPlayer() {
+    if (playerReference != null) {
+      return playerReference.get();
+    }
+
     return Server.getInstance().getPlayer(name);
   }
 
@@ -77,11 +117,12 @@ public class User {
   }
 
   public void updateInventory() {
-    PlayerInventory inventory = getInventory();
+    Player player = getPlayer();
+    PlayerInventory inventory = player.getInventory();
 
-    inventory.sendArmorContents(getPlayer());
-    inventory.sendContents(getPlayer());
-    inventory.sendHeldItem(getPlayer());
+    inventory.sendArmorContents(player);
+    inventory.sendContents(player);
+    inventory.sendHeldItem(player);
   }
 
   public void clearAllArmorInventory() {
@@ -151,10 +192,12 @@ public class User {
       teleportToMapWinnerSafeSpawn();
     }
 
+    PlayerInventory inventory = player.getInventory();
+
     game
       .getSpectatorItems()
       .forEach(
-        (slot, customItem) -> getInventory().setItem(slot, customItem.build())
+        (slot, customItem) -> inventory.setItem(slot, customItem.build())
       );
 
     updateInventory();
@@ -247,94 +290,54 @@ public class User {
       return;
     }
 
-    player.teleport(game.getMapWinner().getSafeSpawn().add(0, 1));
-  }
+    GameMap map = game.getArena(player).getMapWinner();
 
-  public void removeScoreboard() {
-    if (scoreboard == null) {
+    if (map == null) {
       return;
     }
 
-    scoreboard.resetAllScores();
-    scoreboard.update();
+    player.teleport(map.getSafeSpawn().add(0, 1));
   }
 
-  public void sendScoreboard(String title, String... lines) {
-    Player player = getPlayer();
-
-    if (player == null) {
-      return;
-    }
-
-    boolean hasScore = scoreboard != null;
-
-    if (hasScore) {
-      removeScoreboard();
-    }
-
-    if (!hasScore) {
-      scoreboard =
-        ScoreboardAPI
-          .builder()
-          .setSortOrder(ObjectiveSortOrder.DESCENDING)
-          .build();
-    }
+  public SimpleScoreboard getScoreboard() {
+    return userScoreboard.getScoreboard();
+  }
 
-    int score = lines.length;
+  public void removeScoreboard() {
+    userScoreboard.clear();
 
-    for (String line : lines) {
-      scoreboard.setScore(score, line, score);
+    Player player = getPlayer();
 
-      score--;
+    if (sharedScoreboard != null && player != null) {
+      sharedScoreboard.removeViewer(player);
     }
 
-    scoreboard.setDisplayName(title);
-
-    game.scheduleOnMainThread(
-      () -> {
-        if (hasScore) {
-          scoreboard.update();
-        } else {
-          scoreboard.addPlayer(player);
-        }
-      }
-    );
+    sharedScoreboard = null;
   }
 
-  public void sendBossBar(String title, float length) {
+  public void sendScoreboard(String title, String... lines) {
     Player player = getPlayer();
 
     if (player == null) {
       return;
     }
 
-    game.scheduleOnMainThread(
-      () -> {
-        if (bossbar == null) {
-          bossbar =
-            new DummyBossBar.Builder(player).length(length).text(title).build();
-
-          player.createBossBar(bossbar);
-        } else {
-          bossbar.setText(title);
-          bossbar.setLength(length);
-        }
-      }
-    );
-  }
+    if (sharedScoreboard != null) {
+      sharedScoreboard.removeViewer(player);
+    }
 
-  public void removeBossBar() {
-    Player player = getPlayer();
+    userScoreboard.update(title, lines);
+  }
 
-    if (player == null) {
+  public void sendBossBar(String title, float length) {
+    if (getPlayer() == null) {
       return;
     }
 
-    if (bossbar == null) {
-      return;
-    }
+    userBossBar.update(title, length);
+  }
 
-    bossbar.destroy();
-    bossbar = null;
+  public void removeBossBar() {
+    userBossBar.remove();
   }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.user.bossbar;
+
+import cn.nukkit.Player;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.user.User;
+
+public class SharedBossBar {
+
+  private final Game game;
+
+  private final Set<Player> viewers = new HashSet<>();
+
+  private String pendingTitle = null;
+
+  private float pendingLength = 0;
+
+  private Collection<Player> pendingAudience = Collections.emptySet();
+
+  private boolean flushScheduled = false;
+
+  public SharedBossBar(Game game) {
+    this.game = game;
+  }
+
+  public int countViewers() {
+    return viewers.size();
+  }
+
+  public void update(String title, float length, Collection<Player> audience) {
+    synchronized (this) {
+      pendingTitle = title;
+      pendingLength = length;
+      pendingAudience = audience;
+
+      if (flushScheduled) {
+        return;
+      }
+
+      flushScheduled = true;
+    }
+
+    game.getMainThreadQueue().offer(this::flush);
+  }
+
+  public void flush() {
+    String title;
+    float length;
+    Collection<Player> audience;
+
+    synchronized (this) {
+      title = pendingTitle;
+      length = pendingLength;
+      audience = pendingAudience;
+      pendingTitle = null;
+      flushScheduled = false;
+    }
+
+    if (title == null) {
+      return;
+    }
+
+    Set<Player> targets = new HashSet<>(audience);
+
+    new ArrayList<>(viewers)
+      .forEach(
+        viewer -> {
+          if (!targets.contains(viewer) || !viewer.isOnline()) {
+            removeViewer(viewer);
+          }
+        }
+      );
+
+    targets.forEach(
+      player -> {
+        User user = game.getUserFactory().get(player);
+
+        if (user == null || !player.isOnline()) {
+          return;
+        }
+
+        user.getUserBossBar().apply(player, title, length);
+        viewers.add(player);
+      }
+    );
+  }
+
+  public void removeViewer(Player player) {
+    if (!viewers.remove(player)) {
+      return;
+    }
+
+    User user = game.getUserFactory().get(player);
+
+    if (user != null) {
+      user.getUserBossBar().remove();
+    }
+  }
+
+  public void close() {
+    synchronized (this) {
+      pendingTitle = null;
+    }
+
+    new ArrayList<>(viewers).forEach(this::removeViewer);
+  }
+}
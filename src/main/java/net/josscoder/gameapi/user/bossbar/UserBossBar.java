@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.user.bossbar;
+
+import cn.nukkit.Player;
+import cn.nukkit.utils.DummyBossBar;
+import lombok.Getter;
+import net.josscoder.gameapi.user.User;
+
+public class UserBossBar {
+
+  private final User user;
+
+  @Getter
+  private DummyBossBar bossBar;
+
+  private String sentTitle = null;
+
+  private float sentLength = -1;
+
+  private String pendingTitle = null;
+
+  private float pendingLength = 0;
+
+  private boolean flushScheduled = false;
+
+  public UserBossBar(User user) {
+    this.user = user;
+  }
+
+  /**
+   * Queues the values for the next tick flush, repeated calls within the
+   * same tick only keep the latest title and length.
+   */
+  public void update(String title, float length) {
+    synchronized (this) {
+      pendingTitle = title;
+      pendingLength = length;
+
+      if (flushScheduled) {
+        return;
+      }
+
+      flushScheduled = true;
+    }
+
+    user.getGame().getMainThreadQueue().offer(this::flush);
+  }
+
+  public void flush() {
+    String title;
+    float length;
+
+    synchronized (this) {
+      title = pendingTitle;
+      length = pendingLength;
+      pendingTitle = null;
+      flushScheduled = false;
+    }
+
+    if (title == null) {
+      return;
+    }
+
+    Player player = user.getPlayer();
+
+    if (player != null) {
+      apply(player, title, length);
+    }
+  }
+
+  /**
+   * Pushes the values right away, skipping whatever did not change since
+   * the last push. Must run on the main thread.
+   */
+  public void apply(Player player, String title, float length) {
+    if (bossBar == null) {
+      bossBar =
+        new DummyBossBar.Builder(player).length(length).text(title).build();
+
+      player.createBossBar(bossBar);
+
+      sentTitle = title;
+      sentLength = length;
+
+      return;
+    }
+
+    if (!title.equals(sentTitle)) {
+      bossBar.setText(title);
+      sentTitle = title;
+    }
+
+    if (length != sentLength) {
+      bossBar.setLength(length);
+      sentLength = length;
+    }
+  }
+
+  public void remove() {
+    synchronized (this) {
+      pendingTitle = null;
+    }
+
+    if (bossBar == null) {
+      return;
+    }
+
+    bossBar.destroy();
+    bossBar = null;
+
+    sentTitle = null;
+    sentLength = -1;
+  }
+}
@@ -17,8 +17,9 @@
 package net.josscoder.gameapi.user.factory;
 
 import cn.nukkit.Player;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.Getter;
@@ -30,6 +31,10 @@ public class UserFactory {
 
   private final Game game;
   private final Map<String, User> storage = new ConcurrentHashMap<>();
+  private final Map<UUID, User> uuidIndex = new ConcurrentHashMap<>();
+  private final Map<Long, User> entityIdIndex = new ConcurrentHashMap<>();
+  private final Deque<Integer> freeSlots = new ArrayDeque<>();
+  private int nextSlot = 0;
 
   public UserFactory(Game game) {
     this.game = game;
@@ -40,15 +45,49 @@ public class UserFactory {
   }
 
   public boolean contains(Player player) {
-    return contains(player.getName());
+    return get(player) != null;
   }
 
   public boolean contains(UUID uuid) {
     return get(uuid) != null;
   }
 
+  /**
+   * Users get a small reusable index so per-user state can live in plain
+   * arrays, like the cooldown service does.
+   */
+  private synchronized int acquireSlot() {
+    Integer slot = freeSlots.poll();
+
+    return slot != null ? slot : nextSlot++;
+  }
+
+  private synchronized void releaseSlot(int slot) {
+    game.getCooldownService().release(slot);
+    freeSlots.push(slot);
+  }
+
   public void add(User user) {
-    storage.put(user.getName(), user);
+    user.setSlot(acquireSlot());
+
+    User previous = storage.put(user.getName(), user);
+
+    if (previous != null) {
+      if (previous.getSlot() >= 0) {
+        releaseSlot(previous.getSlot());
+        previous.setSlot(-1);
+      }
+
+      if (previous.getUuid() != null) {
+        uuidIndex.remove(previous.getUuid(), previous);
+        entityIdIndex.remove(previous.getEntityId(), previous);
+      }
+    }
+
+    if (user.getUuid() != null) {
+      uuidIndex.put(user.getUuid(), user);
+      entityIdIndex.put(user.getEntityId(), user);
+    }
   }
 
   public User get(String username) {
@@ -56,24 +95,50 @@ public class UserFactory {
   }
 
   public User get(Player player) {
-    return get(player.getName());
+    User user = entityIdIndex.get(player.getId());
+
+    return user != null ? user : get(player.getName());
   }
 
   public User get(UUID uuid) {
-    return get(
-      Objects.requireNonNull(game.getServer().getPlayer(uuid).orElse(null))
-    );
+    User user = uuidIndex.get(uuid);
+
+    if (user != null) {
+      return user;
+    }
+
+    Player player = game.getServer().getPlayer(uuid).orElse(null);
+
+    return player != null ? get(player) : null;
+  }
+
+  public User getByEntityId(long entityId) {
+    return entityIdIndex.get(entityId);
   }
 
   public void remove(String username) {
-    storage.remove(username);
+    User user = storage.remove(username);
+
+    if (user != null && user.getSlot() >= 0) {
+      releaseSlot(user.getSlot());
+      user.setSlot(-1);
+    }
+
+    if (user != null && user.getUuid() != null) {
+      uuidIndex.remove(user.getUuid(), user);
+      entityIdIndex.remove(user.getEntityId(), user);
+    }
   }
 
   public void remove(Player player) {
-    storage.remove(player.getName());
+    remove(player.getName());
   }
 
   public void remove(UUID uuid) {
-    storage.remove(get(uuid).getName());
+    User user = get(uuid);
+
+    if (user != null) {
+      remove(user.getName());
+    }
   }
 }
@@ -23,6 +23,7 @@ import cn.nukkit.event.player.PlayerJoinEvent;
 import cn.nukkit.event.player.PlayerLoginEvent;
 import cn.nukkit.event.player.PlayerQuitEvent;
 import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.customitem.factory.CustomItemFactory;
 import net.josscoder.gameapi.listener.GameListener;
 import net.josscoder.gameapi.user.User;
 import net.josscoder.gameapi.user.event.UserJoinServerEvent;
@@ -53,7 +54,13 @@ public class UserEventListener extends GameListener<Game> {
 
     Player player = event.getPlayer();
 
-    User user = new User(game, player.getName());
+    if (game.getArenaManager().join(player) == null) {
+      game.kick(player, "No Arena Available");
+
+      return;
+    }
+
+    User user = new User(game, player);
 
     userFactory.add(user);
 
@@ -77,6 +84,10 @@ public class UserEventListener extends GameListener<Game> {
 
     userFactory.remove(player);
 
+    CustomItemFactory.releaseAll(user);
+
+    game.getArenaManager().quit(player);
+
     game.removeIfHasTeam(player);
     game.getGameMapManager().removeVoteIfHasVoted(player);
   }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.user.scoreboard;
+
+import gt.creeperface.nukkit.scoreboardapi.ScoreboardAPI;
+import gt.creeperface.nukkit.scoreboardapi.scoreboard.ObjectiveSortOrder;
+import gt.creeperface.nukkit.scoreboardapi.scoreboard.SimpleScoreboard;
+import java.util.Arrays;
+import lombok.Getter;
+
+class ScoreboardLines {
+
+  @Getter
+  private SimpleScoreboard scoreboard;
+
+  private String sentTitle = null;
+
+  private String[] sentLines = new String[1];
+
+  SimpleScoreboard getOrCreate() {
+    if (scoreboard == null) {
+      scoreboard =
+        ScoreboardAPI
+          .builder()
+          .setSortOrder(ObjectiveSortOrder.DESCENDING)
+          .build();
+    }
+
+    return scoreboard;
+  }
+
+  /**
+   * Applies only the lines that differ from the last applied state, the
+   * caller still has to push the result with update().
+   */
+  boolean apply(String title, String[] lines) {
+    SimpleScoreboard scoreboard = getOrCreate();
+
+    boolean changed = false;
+
+    if (title != null && !title.equals(sentTitle)) {
+      scoreboard.setDisplayName(title);
+      sentTitle = title;
+      changed = true;
+    }
+
+    int size = lines.length;
+    int sentSize = sentLines.length - 1;
+
+    if (sentLines.length <= size) {
+      sentLines = Arrays.copyOf(sentLines, size + 1);
+    }
+
+    for (int score = 1; score <= size; score++) {
+      String line = lines[size - score];
+
+      if (!line.equals(sentLines[score])) {
+        scoreboard.setScore(score, line, score);
+        sentLines[score] = line;
+        changed = true;
+      }
+    }
+
+    for (int score = size + 1; score <= sentSize; score++) {
+      if (sentLines[score] != null) {
+        scoreboard.resetScore(score);
+        sentLines[score] = null;
+        changed = true;
+      }
+    }
+
+    return changed;
+  }
+
+  boolean clear() {
+    if (scoreboard == null) {
+      return false;
+    }
+
+    scoreboard.resetAllScores();
+    Arrays.fill(sentLines, null);
+
+    return true;
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.user.scoreboard;
+
+import cn.nukkit.Player;
+import gt.creeperface.nukkit.scoreboardapi.scoreboard.SimpleScoreboard;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.josscoder.gameapi.Game;
+import net.josscoder.gameapi.user.User;
+
+public class SharedScoreboard {
+
+  private final Game game;
+
+  private final ScoreboardLines lines = new ScoreboardLines();
+
+  private final Set<Player> viewers = new HashSet<>();
+
+  private String pendingTitle = null;
+
+  private String[] pendingLines = null;
+
+  private Collection<Player> pendingAudience = Collections.emptySet();
+
+  private boolean flushScheduled = false;
+
+  public SharedScoreboard(Game game) {
+    this.game = game;
+  }
+
+  public SimpleScoreboard getScoreboard() {
+    return lines.getScoreboard();
+  }
+
+  public int countViewers() {
+    return viewers.size();
+  }
+
+  /**
+   * Queues one update for every player of the audience, the audience is
+   * read when the flush runs so live sets can be passed directly.
+   */
+  public void update(
+    String title,
+    Collection<Player> audience,
+    String... lines
+  ) {
+    synchronized (this) {
+      pendingTitle = title;
+      pendingLines = lines;
+      pendingAudience = audience;
+
+      if (flushScheduled) {
+        return;
+      }
+
+      flushScheduled = true;
+    }
+
+    game.getMainThreadQueue().offer(this::flush);
+  }
+
+  public void flush() {
+    String title;
+    String[] pending;
+    Collection<Player> audience;
+
+    synchronized (this) {
+      title = pendingTitle;
+      pending = pendingLines;
+      audience = pendingAudience;
+      pendingLines = null;
+      flushScheduled = false;
+    }
+
+    if (pending == null) {
+      return;
+    }
+
+    Set<Player> targets = new HashSet<>(audience);
+
+    List<Player> leaving = new ArrayList<>();
+
+    viewers.forEach(
+      viewer -> {
+        if (!targets.contains(viewer) || !viewer.isOnline()) {
+          leaving.add(viewer);
+        }
+      }
+    );
+
+    leaving.forEach(this::removeViewer);
+
+    boolean changed = lines.apply(title, pending);
+
+    if (changed && !viewers.isEmpty()) {
+      lines.getScoreboard().update();
+    }
+
+    targets.forEach(
+      player -> {
+        if (player.isOnline() && !viewers.contains(player)) {
+          addViewer(player);
+        }
+      }
+    );
+  }
+
+  private void addViewer(Player player) {
+    User user = game.getUserFactory().get(player);
+
+    if (user != null) {
+      SharedScoreboard current = user.getSharedScoreboard();
+
+      if (current != null && current != this) {
+        current.removeViewer(player);
+      }
+
+      user.getUserScoreboard().detach(player);
+      user.setSharedScoreboard(this);
+    }
+
+    viewers.add(player);
+    lines.getScoreboard().addPlayer(player);
+  }
+
+  public void removeViewer(Player player) {
+    if (!viewers.remove(player)) {
+      return;
+    }
+
+    lines.getScoreboard().removePlayer(player);
+
+    User user = game.getUserFactory().get(player);
+
+    if (user != null && user.getSharedScoreboard() == this) {
+      user.setSharedScoreboard(null);
+    }
+  }
+
+  public void close() {
+    synchronized (this) {
+      pendingLines = null;
+    }
+
+    new ArrayList<>(viewers).forEach(this::removeViewer);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.user.scoreboard;
+
+import cn.nukkit.Player;
+import gt.creeperface.nukkit.scoreboardapi.scoreboard.SimpleScoreboard;
+import net.josscoder.gameapi.user.User;
+
+public class UserScoreboard {
+
+  private final User user;
+
+  private final ScoreboardLines lines = new ScoreboardLines();
+
+  private boolean viewing = false;
+
+  private String pendingTitle = null;
+
+  private String[] pendingLines = null;
+
+  private boolean flushScheduled = false;
+
+  public UserScoreboard(User user) {
+    this.user = user;
+  }
+
+  public SimpleScoreboard getScoreboard() {
+    return lines.getScoreboard();
+  }
+
+  /**
+   * Queues the lines for the next tick flush, later calls within the same
+   * tick simply replace the pending state.
+   */
+  public void update(String title, String... lines) {
+    synchronized (this) {
+      pendingTitle = title;
+      pendingLines = lines;
+
+      if (flushScheduled) {
+        return;
+      }
+
+      flushScheduled = true;
+    }
+
+    user.getGame().getMainThreadQueue().offer(this::flush);
+  }
+
+  public void flush() {
+    String title;
+    String[] pending;
+
+    synchronized (this) {
+      title = pendingTitle;
+      pending = pendingLines;
+      pendingLines = null;
+      flushScheduled = false;
+    }
+
+    Player player = user.getPlayer();
+
+    if (player == null || pending == null) {
+      return;
+    }
+
+    SharedScoreboard shared = user.getSharedScoreboard();
+
+    if (shared != null) {
+      shared.removeViewer(player);
+    }
+
+    boolean changed = lines.apply(title, pending);
+
+    if (!viewing) {
+      lines.getScoreboard().addPlayer(player);
+      viewing = true;
+    } else if (changed) {
+      lines.getScoreboard().update();
+    }
+  }
+
+  /**
+   * Hides the personal scoreboard without dropping its state, used when
+   * the user starts viewing a shared one.
+   */
+  public void detach(Player player) {
+    if (!viewing) {
+      return;
+    }
+
+    lines.getScoreboard().removePlayer(player);
+    viewing = false;
+  }
+
+  public void clear() {
+    synchronized (this) {
+      pendingLines = null;
+    }
+
+    if (lines.clear()) {
+      lines.getScoreboard().update();
+    }
+  }
+}
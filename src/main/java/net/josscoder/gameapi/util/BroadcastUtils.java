@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.util;
+
+import cn.nukkit.Player;
+import cn.nukkit.Server;
+import cn.nukkit.network.protocol.DataPacket;
+import cn.nukkit.network.protocol.SetTitlePacket;
+import cn.nukkit.network.protocol.TextPacket;
+import java.util.Collection;
+
+public class BroadcastUtils {
+
+  /**
+   * The packet is encoded (and batched) once by the server and the same
+   * payload is written to every recipient.
+   */
+  public static void broadcastPacket(
+    Collection<Player> players,
+    DataPacket packet
+  ) {
+    if (players.isEmpty()) {
+      return;
+    }
+
+    Server.broadcastPacket(players, packet);
+  }
+
+  public static void broadcastTitle(
+    Collection<Player> players,
+    String title,
+    String subTitle,
+    int fadeIn,
+    int stay,
+    int fadeOut
+  ) {
+    if (players.isEmpty()) {
+      return;
+    }
+
+    broadcastPacket(
+      players,
+      createTitlePacket(
+        SetTitlePacket.TYPE_ANIMATION_TIMES,
+        "",
+        fadeIn,
+        stay,
+        fadeOut
+      )
+    );
+
+    if (subTitle != null && !subTitle.isEmpty()) {
+      broadcastPacket(
+        players,
+        createTitlePacket(
+          SetTitlePacket.TYPE_SUBTITLE,
+          subTitle,
+          fadeIn,
+          stay,
+          fadeOut
+        )
+      );
+    }
+
+    //An empty title is not shown by the client, same workaround as
+    //Player.sendTitle
+    broadcastPacket(
+      players,
+      createTitlePacket(
+        SetTitlePacket.TYPE_TITLE,
+        title == null || title.isEmpty() ? " " : title,
+        fadeIn,
+        stay,
+        fadeOut
+      )
+    );
+  }
+
+  public static void broadcastActionBar(
+    Collection<Player> players,
+    String title,
+    int fadeIn,
+    int duration,
+    int fadeOut
+  ) {
+    broadcastPacket(
+      players,
+      createTitlePacket(
+        SetTitlePacket.TYPE_ACTION_BAR,
+        title,
+        fadeIn,
+        duration,
+        fadeOut
+      )
+    );
+  }
+
+  public static void broadcastTip(Collection<Player> players, String message) {
+    broadcastPacket(players, createTextPacket(TextPacket.TYPE_TIP, message));
+  }
+
+  public static void broadcastPopup(
+    Collection<Player> players,
+    String message
+  ) {
+    broadcastPacket(players, createTextPacket(TextPacket.TYPE_POPUP, message));
+  }
+
+  private static SetTitlePacket createTitlePacket(
+    int type,
+    String text,
+    int fadeIn,
+    int stay,
+    int fadeOut
+  ) {
+    SetTitlePacket pk = new SetTitlePacket();
+    pk.type = type;
+    pk.text = text;
+    pk.fadeInTime = fadeIn;
+    pk.stayTime = stay;
+    pk.fadeOutTime = fadeOut;
+
+    return pk;
+  }
+
+  private static TextPacket createTextPacket(byte type, String message) {
+    TextPacket pk = new TextPacket();
+    pk.type = type;
+    pk.message = message;
+
+    return pk;
+  }
+}
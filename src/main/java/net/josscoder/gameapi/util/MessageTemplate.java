@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package net.josscoder.gameapi.util;
+
+import cn.nukkit.utils.TextFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message with its color codes resolved once and positional placeholders
+ * like {0}, {1}, rendered into a reused per-thread builder.
+ */
+public class MessageTemplate {
+
+  private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(
+    () -> new StringBuilder(128)
+  );
+
+  private final String[] literals;
+
+  private final int[] placeholders;
+
+  private final int length;
+
+  private MessageTemplate(String[] literals, int[] placeholders) {
+    this.literals = literals;
+    this.placeholders = placeholders;
+
+    int length = 0;
+
+    for (String literal : literals) {
+      length += literal.length();
+    }
+
+    this.length = length;
+  }
+
+  public static MessageTemplate compile(String pattern) {
+    String colorized = TextFormat.colorize(pattern);
+
+    List<String> literals = new ArrayList<>();
+    List<Integer> placeholders = new ArrayList<>();
+
+    int start = 0;
+    int open;
+
+    while ((open = colorized.indexOf('{', start)) != -1) {
+      int close = colorized.indexOf('}', open);
+
+      if (close == -1) {
+        break;
+      }
+
+      int index;
+
+      try {
+        index = Integer.parseInt(colorized.substring(open + 1, close));
+      } catch (NumberFormatException e) {
+        start = open + 1;
+
+        continue;
+      }
+
+      literals.add(colorized.substring(start, open));
+      placeholders.add(index);
+
+      start = close + 1;
+    }
+
+    literals.add(colorized.substring(start));
+
+    int[] indexes = new int[placeholders.size()];
+
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = placeholders.get(i);
+    }
+
+    return new MessageTemplate(literals.toArray(new String[0]), indexes);
+  }
+
+  private StringBuilder builder() {
+    StringBuilder builder = BUILDER.get();
+    builder.setLength(0);
+    builder.ensureCapacity(length + 16);
+
+    return builder;
+  }
+
+  public String render() {
+    return render(new Object[0]);
+  }
+
+  public String render(int value) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder.append(literals[i]).append(value);
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+
+  public String render(String value) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder.append(literals[i]).append(value);
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+
+  public String render(String first, String second) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder
+        .append(literals[i])
+        .append(placeholders[i] == 0 ? first : second);
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+
+  public String render(String name, int value) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder.append(literals[i]);
+
+      if (placeholders[i] == 0) {
+        builder.append(name);
+      } else {
+        builder.append(value);
+      }
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+
+  public String render(String name, int first, int second) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder.append(literals[i]);
+
+      switch (placeholders[i]) {
+        case 0:
+          builder.append(name);
+          break;
+        case 1:
+          builder.append(first);
+          break;
+        default:
+          builder.append(second);
+      }
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+
+  public String render(Object... args) {
+    StringBuilder builder = builder();
+
+    for (int i = 0; i < placeholders.length; i++) {
+      builder.append(literals[i]);
+
+      int index = placeholders[i];
+
+      if (index < args.length) {
+        builder.append(args[index]);
+      }
+    }
+
+    return builder.append(literals[placeholders.length]).toString();
+  }
+}
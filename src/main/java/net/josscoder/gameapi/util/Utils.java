@@ -18,9 +18,18 @@ package net.josscoder.gameapi.util;
 
 import cn.nukkit.Player;
 import cn.nukkit.network.protocol.PlaySoundPacket;
+import cn.nukkit.utils.TextFormat;
 
 public class Utils {
 
+  /**
+   * Skips the color code pass for text that is already colorized, such as
+   * rendered {@link MessageTemplate}s.
+   */
+  public static String colorize(String text) {
+    return text.indexOf('&') == -1 ? text : TextFormat.colorize(text);
+  }
+
   public static void playSound(
     Player player,
     String soundName,
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package net.josscoder.gameapi.customitem.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import net.josscoder.gameapi.customitem.CustomItem;
+import org.junit.Test;
+
+public class CustomItemFactoryTest {
+
+  private static final int INDEX_MASK = 0xFFFF;
+
+  private static CustomItem newItem() {
+    return new CustomItem(null, "Test");
+  }
+
+  @Test
+  public void resolvesLiveItemsById() {
+    CustomItem item = newItem();
+
+    assertSame(item, CustomItemFactory.get(item.getId()));
+    assertSame(item, CustomItemFactory.get(item.getUuid()));
+
+    item.release();
+  }
+
+  @Test
+  public void releasedIdsNoLongerResolve() {
+    CustomItem item = newItem();
+    int id = item.getId();
+
+    item.release();
+
+    assertNull(CustomItemFactory.get(id));
+    assertNull(CustomItemFactory.get(item.getUuid()));
+  }
+
+  @Test
+  public void reusedSlotGetsNewGeneration() {
+    CustomItem released = newItem();
+    int staleId = released.getId();
+
+    released.release();
+
+    CustomItem reused = newItem();
+
+    assertEquals(staleId & INDEX_MASK, reused.getId() & INDEX_MASK);
+    assertNotEquals(staleId, reused.getId());
+    assertNull(CustomItemFactory.get(staleId));
+    assertSame(reused, CustomItemFactory.get(reused.getId()));
+
+    reused.release();
+  }
+
+  @Test
+  public void releaseAllDropsItemsBoundToTheOwner() {
+    Object owner = new Object();
+
+    CustomItem bound = newItem().bindTo(owner);
+    CustomItem global = newItem();
+
+    CustomItemFactory.releaseAll(owner);
+
+    assertNull(CustomItemFactory.get(bound.getId()));
+    assertSame(global, CustomItemFactory.get(global.getId()));
+
+    global.release();
+  }
+
+  @Test
+  public void unknownIdsDoNotResolve() {
+    assertNull(CustomItemFactory.get(-1));
+    assertNull(CustomItemFactory.get(INDEX_MASK));
+  }
+}
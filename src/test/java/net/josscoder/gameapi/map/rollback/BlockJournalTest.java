@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package net.josscoder.gameapi.map.rollback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BlockJournalTest {
+
+  private static void assertRoundTrip(int x, int y, int z) {
+    long position = BlockJournal.pack(x, y, z);
+
+    assertEquals(x, BlockJournal.unpackX(position));
+    assertEquals(y, BlockJournal.unpackY(position));
+    assertEquals(z, BlockJournal.unpackZ(position));
+  }
+
+  @Test
+  public void packRoundTripsPositiveCoordinates() {
+    assertRoundTrip(0, 0, 0);
+    assertRoundTrip(1, 64, 1);
+    assertRoundTrip(12345, 255, 67890);
+  }
+
+  @Test
+  public void packRoundTripsNegativeCoordinates() {
+    assertRoundTrip(-1, 10, -1);
+    assertRoundTrip(-12345, 0, 678);
+    assertRoundTrip(912, 255, -30000);
+  }
+
+  @Test
+  public void packRoundTripsWorldBorder() {
+    assertRoundTrip(30_000_000, 255, -30_000_000);
+    assertRoundTrip(-30_000_000, 0, 30_000_000);
+  }
+
+  @Test
+  public void packKeepsNeighboursApart() {
+    long position = BlockJournal.pack(5, 70, -5);
+
+    assertNotEquals(position, BlockJournal.pack(6, 70, -5));
+    assertNotEquals(position, BlockJournal.pack(5, 71, -5));
+    assertNotEquals(position, BlockJournal.pack(5, 70, -4));
+  }
+
+  @Test
+  public void newJournalIsEmpty() {
+    BlockJournal journal = new BlockJournal();
+
+    assertEquals(0, journal.size());
+    assertTrue(journal.isEmpty());
+  }
+}
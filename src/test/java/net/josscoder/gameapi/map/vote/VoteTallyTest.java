@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package net.josscoder.gameapi.map.vote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class VoteTallyTest {
+
+  @Test
+  public void countsVotes() {
+    VoteTally tally = new VoteTally();
+
+    tally.increment();
+    tally.increment();
+    tally.decrement();
+
+    assertEquals(1, tally.get());
+  }
+
+  @Test
+  public void neverGoesBelowZero() {
+    VoteTally tally = new VoteTally();
+
+    tally.decrement();
+    tally.increment();
+    tally.decrement();
+    tally.decrement();
+
+    assertEquals(0, tally.get());
+  }
+
+  @Test
+  public void resetClearsTheCount() {
+    VoteTally tally = new VoteTally();
+
+    tally.increment();
+    tally.increment();
+    tally.reset();
+
+    assertEquals(0, tally.get());
+  }
+
+  @Test
+  public void listenerMirrorsEveryChange() {
+    AtomicInteger mirror = new AtomicInteger(-1);
+
+    VoteTally tally = new VoteTally(mirror::set);
+
+    tally.increment();
+    assertEquals(1, mirror.get());
+
+    tally.increment();
+    assertEquals(2, mirror.get());
+
+    tally.decrement();
+    assertEquals(1, mirror.get());
+
+    tally.reset();
+    assertEquals(0, mirror.get());
+  }
+
+  @Test
+  public void moreVotesWin() {
+    assertTrue(MapVoteEngine.ranksAbove(3, 1, 2, 0));
+    assertFalse(MapVoteEngine.ranksAbove(2, 0, 3, 1));
+  }
+
+  @Test
+  public void tiesGoToTheMapRegisteredFirst() {
+    assertTrue(MapVoteEngine.ranksAbove(2, 0, 2, 1));
+    assertFalse(MapVoteEngine.ranksAbove(2, 1, 2, 0));
+  }
+
+  @Test
+  public void mapDoesNotBeatItself() {
+    assertFalse(MapVoteEngine.ranksAbove(4, 2, 4, 2));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package net.josscoder.gameapi.user.scoreboard;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScoreboardLinesTest {
+
+  private static String[] lines(String... lines) {
+    return lines;
+  }
+
+  @Test
+  public void firstApplyChangesTheScoreboard() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    assertTrue(scoreboardLines.apply("Title", lines("a", "b")));
+  }
+
+  @Test
+  public void sameStateIsNotAppliedTwice() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    scoreboardLines.apply("Title", lines("a", "b"));
+
+    assertFalse(scoreboardLines.apply("Title", lines("a", "b")));
+  }
+
+  @Test
+  public void changedTitleIsApplied() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    scoreboardLines.apply("Title", lines("a"));
+
+    assertTrue(scoreboardLines.apply("Other", lines("a")));
+    assertFalse(scoreboardLines.apply("Other", lines("a")));
+  }
+
+  @Test
+  public void nullTitleKeepsTheSentTitle() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    scoreboardLines.apply("Title", lines("a"));
+
+    assertFalse(scoreboardLines.apply(null, lines("a")));
+  }
+
+  @Test
+  public void changedLineIsApplied() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    scoreboardLines.apply("Title", lines("a", "b", "c"));
+
+    assertTrue(scoreboardLines.apply("Title", lines("a", "x", "c")));
+    assertFalse(scoreboardLines.apply("Title", lines("a", "x", "c")));
+  }
+
+  @Test
+  public void shrinkingAndGrowingAreApplied() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    scoreboardLines.apply("Title", lines("a", "b", "c"));
+
+    assertTrue(scoreboardLines.apply("Title", lines("b", "c")));
+    assertFalse(scoreboardLines.apply("Title", lines("b", "c")));
+
+    assertTrue(scoreboardLines.apply("Title", lines("a", "b", "c", "d")));
+    assertFalse(scoreboardLines.apply("Title", lines("a", "b", "c", "d")));
+  }
+
+  @Test
+  public void clearForgetsTheSentLines() {
+    ScoreboardLines scoreboardLines = new ScoreboardLines();
+
+    assertFalse(scoreboardLines.clear());
+
+    scoreboardLines.apply("Title", lines("a"));
+
+    assertTrue(scoreboardLines.clear());
+    assertTrue(scoreboardLines.apply("Title", lines("a")));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021-2055 Josscoder
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package net.josscoder.gameapi.util;
+
+import static org.junit.Assert.assertEquals;
+
+import cn.nukkit.utils.TextFormat;
+import org.junit.Test;
+
+public class MessageTemplateTest {
+
+  @Test
+  public void resolvesColorCodes() {
+    MessageTemplate template = MessageTemplate.compile("&aReady");
+
+    assertEquals(TextFormat.GREEN + "Ready", template.render());
+  }
+
+  @Test
+  public void rendersPositionalPlaceholders() {
+    MessageTemplate template = MessageTemplate.compile("{0} killed {1}!");
+
+    assertEquals("Steve killed Alex!", template.render("Steve", "Alex"));
+    assertEquals(
+      "Steve killed Alex!",
+      template.render(new Object[] { "Steve", "Alex" })
+    );
+  }
+
+  @Test
+  public void rendersPlaceholdersOutOfOrder() {
+    MessageTemplate template = MessageTemplate.compile("{1} by {0}");
+
+    assertEquals("Alex by Steve", template.render("Steve", "Alex"));
+    assertEquals("3 by Steve", template.render("Steve", 3));
+  }
+
+  @Test
+  public void rendersPrimitiveOverloads() {
+    assertEquals(
+      "Starting in 5...",
+      MessageTemplate.compile("Starting in {0}...").render(5)
+    );
+
+    MessageTemplate stats = MessageTemplate.compile(
+      "{0}: {1} kills, {2} deaths"
+    );
+
+    assertEquals("Steve: 2 kills, 1 deaths", stats.render("Steve", 2, 1));
+  }
+
+  @Test
+  public void keepsNonNumericBracesLiteral() {
+    MessageTemplate template = MessageTemplate.compile("{name} has {0} {");
+
+    assertEquals("{name} has 4 {", template.render(4));
+  }
+
+  @Test
+  public void dropsMissingArguments() {
+    MessageTemplate template = MessageTemplate.compile("[{0}|{1}]");
+
+    assertEquals("[a|]", template.render(new Object[] { "a" }));
+  }
+}